@@ -0,0 +1,75 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.startup;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long it takes to start a JVM that runs an empty main method with the agent attached,
+ * with the instrumentation modules prepared on the given number of threads. Uses the same agent jar
+ * as the benchmark JVM itself.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+  @Param({"1", "4", "16"})
+  public int parallelism;
+
+  private List<String> command;
+
+  @Setup
+  public void setup() {
+    String javaagent =
+        ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+            .filter(argument -> argument.startsWith("-javaagent:"))
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("the agent is not attached"));
+    command =
+        Arrays.asList(
+            Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+            javaagent,
+            "-Dotel.traces.exporter=none",
+            "-Dotel.metrics.exporter=none",
+            "-Dotel.logs.exporter=none",
+            "-Dotel.javaagent.experimental.module-preparation.parallelism=" + parallelism,
+            "-cp",
+            System.getProperty("java.class.path"),
+            EmptyApplication.class.getName());
+  }
+
+  @Benchmark
+  public int startup() throws IOException, InterruptedException {
+    Process process = new ProcessBuilder(command).inheritIO().start();
+    int exitCode = process.waitFor();
+    if (exitCode != 0) {
+      throw new IllegalStateException("JVM exited with " + exitCode);
+    }
+    return exitCode;
+  }
+
+  public static class EmptyApplication {
+    public static void main(String[] args) {}
+  }
+}
@@ -23,8 +23,8 @@ tasks {
         disableWarningsInGeneratedCode.set(true)
         allDisabledChecksAsWarnings.set(true)
 
-        // Ignore warnings for generated and vendored classes
-        excludedPaths.set(".*/build/generated/.*|.*/concurrentlinkedhashmap/.*")
+        // Ignore warnings for generated classes
+        excludedPaths.set(".*/build/generated/.*")
 
         // it's very convenient to debug stuff in the javaagent using System.out.println
         // and we don't want to conditionally only check this in CI
@@ -0,0 +1,77 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.db;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of sanitizing large statements, bypassing the statement cache. The {@code
+ * batchInsert} and {@code inList} statements consist of value lists that are collapsed while
+ * scanning, the {@code wideSelect} statement contains a lot of literals that can't be collapsed.
+ */
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class SqlSanitizerBenchmark {
+
+  @Param({"1024", "65536", "1048576"})
+  int length;
+
+  private String batchInsert;
+  private String inList;
+  private String wideSelect;
+
+  @Setup
+  public void setUp() {
+    StringBuilder sb = new StringBuilder("INSERT INTO orders (id, customer, amount) VALUES ");
+    for (int i = 0; sb.length() < length; i++) {
+      sb.append(i == 0 ? "" : ", ").append('(').append(i).append(", 'customer-");
+      sb.append(i).append("', ").append(i * 0.25).append(')');
+    }
+    batchInsert = sb.toString();
+
+    sb = new StringBuilder("SELECT id, customer, amount FROM orders WHERE id IN (");
+    for (int i = 0; sb.length() < length; i++) {
+      sb.append(i == 0 ? "" : ", ").append(i);
+    }
+    inList = sb.append(')').toString();
+
+    sb = new StringBuilder("SELECT * FROM orders WHERE customer = 'someone'");
+    for (int i = 0; sb.length() < length; i++) {
+      sb.append(" OR (amount > ").append(i).append(" AND note = 'note ").append(i).append("')");
+    }
+    wideSelect = sb.toString();
+  }
+
+  @Benchmark
+  public SqlStatementInfo batchInsert() {
+    return AutoSqlSanitizer.sanitize(batchInsert, SqlDialect.DEFAULT);
+  }
+
+  @Benchmark
+  public SqlStatementInfo inList() {
+    return AutoSqlSanitizer.sanitize(inList, SqlDialect.DEFAULT);
+  }
+
+  @Benchmark
+  public SqlStatementInfo wideSelect() {
+    return AutoSqlSanitizer.sanitize(wideSelect, SqlDialect.DEFAULT);
+  }
+}
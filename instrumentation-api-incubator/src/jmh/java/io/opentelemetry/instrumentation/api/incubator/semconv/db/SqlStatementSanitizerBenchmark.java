@@ -0,0 +1,82 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.db;
+
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the sanitizer CPU per statement of a cache keyed by the raw statement ({@code
+ * rawStatementKey}, the previous implementation) and of the cache keyed by a literal-insensitive
+ * fingerprint ({@code fingerprintKey}), on a workload mixing parameterized statements with
+ * statements that inline their literals.
+ */
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class SqlStatementSanitizerBenchmark {
+
+  private static final int STATEMENTS = 1 << 16;
+
+  private static final String[] TEMPLATES = {
+    "SELECT id, name, email FROM customers WHERE id = %d",
+    "SELECT * FROM orders o WHERE o.customer_id = %d AND o.status = '%s' ORDER BY o.created_at",
+    "UPDATE accounts SET balance = balance - %d.50 WHERE id = %d",
+    "INSERT INTO events (type, payload, created_at) VALUES ('%s', '%s', %d)",
+    "DELETE FROM sessions WHERE expires_at < %d",
+    "SELECT p.id, p.title FROM posts p JOIN users u ON p.user_id = u.id WHERE u.name = '%s'",
+    "SELECT id FROM products WHERE category = ? AND price > ?",
+    "UPDATE inventory SET quantity = ? WHERE sku = ?",
+  };
+
+  private final Cache<String, SqlStatementInfo> rawStatementCache =
+      Cache.weighted(1_000_000, (key, value) -> key.length());
+  private final SqlStatementSanitizer sanitizer = SqlStatementSanitizer.create(true);
+  private final String[] statements = new String[STATEMENTS];
+  private int index;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(0);
+    for (int i = 0; i < STATEMENTS; i++) {
+      String template = TEMPLATES[random.nextInt(TEMPLATES.length)];
+      statements[i] =
+          template
+              .replace("%d", Integer.toString(random.nextInt(1_000_000)))
+              .replace("%s", "value-" + random.nextInt(1_000_000));
+    }
+  }
+
+  @Benchmark
+  public SqlStatementInfo rawStatementKey() {
+    String statement = nextStatement();
+    return rawStatementCache.computeIfAbsent(
+        statement, s -> AutoSqlSanitizer.sanitize(s, SqlDialect.DEFAULT));
+  }
+
+  @Benchmark
+  public SqlStatementInfo fingerprintKey() {
+    return sanitizer.sanitize(nextStatement());
+  }
+
+  private String nextStatement() {
+    return statements[index++ & (STATEMENTS - 1)];
+  }
+}
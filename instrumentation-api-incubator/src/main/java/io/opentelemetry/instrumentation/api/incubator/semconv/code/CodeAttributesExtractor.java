@@ -11,6 +11,7 @@ import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import io.opentelemetry.instrumentation.api.internal.ExtractorPhasesProvider;
 import javax.annotation.Nullable;
 
 /**
@@ -19,7 +20,7 @@ import javax.annotation.Nullable;
  * code attributes</a>.
  */
 public final class CodeAttributesExtractor<REQUEST, RESPONSE>
-    implements AttributesExtractor<REQUEST, RESPONSE> {
+    implements AttributesExtractor<REQUEST, RESPONSE>, ExtractorPhasesProvider {
 
   // copied from CodeIncubatingAttributes
   private static final AttributeKey<String> CODE_FUNCTION = AttributeKey.stringKey("code.function");
@@ -54,4 +55,22 @@ public final class CodeAttributesExtractor<REQUEST, RESPONSE>
       REQUEST request,
       @Nullable RESPONSE response,
       @Nullable Throwable error) {}
+
+  /**
+   * This method is internal and is hence not for public use. Its API is unstable and can change at
+   * any time.
+   */
+  @Override
+  public boolean internalExtractsOnStart() {
+    return true;
+  }
+
+  /**
+   * This method is internal and is hence not for public use. Its API is unstable and can change at
+   * any time.
+   */
+  @Override
+  public boolean internalExtractsOnEnd() {
+    return false;
+  }
 }
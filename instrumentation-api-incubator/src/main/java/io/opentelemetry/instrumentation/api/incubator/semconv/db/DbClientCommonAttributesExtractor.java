@@ -11,13 +11,14 @@ import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import io.opentelemetry.instrumentation.api.internal.ExtractorPhasesProvider;
 import io.opentelemetry.instrumentation.api.internal.SpanKey;
 import io.opentelemetry.instrumentation.api.internal.SpanKeyProvider;
 import javax.annotation.Nullable;
 
 abstract class DbClientCommonAttributesExtractor<
         REQUEST, RESPONSE, GETTER extends DbClientCommonAttributesGetter<REQUEST>>
-    implements AttributesExtractor<REQUEST, RESPONSE>, SpanKeyProvider {
+    implements AttributesExtractor<REQUEST, RESPONSE>, SpanKeyProvider, ExtractorPhasesProvider {
 
   // copied from DbIncubatingAttributes
   private static final AttributeKey<String> DB_NAME = AttributeKey.stringKey("db.name");
@@ -56,4 +57,22 @@ abstract class DbClientCommonAttributesExtractor<
   public SpanKey internalGetSpanKey() {
     return SpanKey.DB_CLIENT;
   }
+
+  /**
+   * This method is internal and is hence not for public use. Its API is unstable and can change at
+   * any time.
+   */
+  @Override
+  public boolean internalExtractsOnStart() {
+    return true;
+  }
+
+  /**
+   * This method is internal and is hence not for public use. Its API is unstable and can change at
+   * any time.
+   */
+  @Override
+  public boolean internalExtractsOnEnd() {
+    return false;
+  }
 }
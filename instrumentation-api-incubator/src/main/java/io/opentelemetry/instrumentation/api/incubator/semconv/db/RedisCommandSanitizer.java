@@ -8,6 +8,8 @@ package io.opentelemetry.instrumentation.api.incubator.semconv.db;
 import static java.util.Arrays.asList;
 import static java.util.Collections.unmodifiableMap;
 
+import io.opentelemetry.instrumentation.api.incubator.semconv.db.internal.LazyRedisArgument;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
@@ -360,28 +362,43 @@ public final class RedisCommandSanitizer {
   }
 
   public String sanitize(String command, List<?> args) {
+    StringBuilder sanitized = new StringBuilder(command.length() + 16 * args.size());
+    sanitize(command, args, sanitized);
+    return sanitized.toString();
+  }
+
+  /**
+   * Appends the sanitized statement to the given builder, so that callers can reuse a builder or
+   * join several statements without intermediate strings.
+   *
+   * <p>Arguments may be {@code byte[]} or {@link ByteBuffer} values, which are appended without
+   * being copied to an intermediate string when they are ASCII. Arguments that are expensive to
+   * compute may be passed as a {@link LazyRedisArgument}, which is only resolved when the argument
+   * is kept. Masked arguments are never converted at all.
+   */
+  public void sanitize(String command, List<?> args, StringBuilder sanitized) {
     if (!statementSanitizationEnabled) {
-      return KeepAllArgs.INSTANCE.sanitize(command, args);
+      KeepAllArgs.INSTANCE.sanitize(command, args, sanitized);
+      return;
     }
-    return SANITIZERS
+    SANITIZERS
         .getOrDefault(command.toUpperCase(Locale.ROOT), DEFAULT)
-        .sanitize(command, args);
+        .sanitize(command, args, sanitized);
   }
 
   interface CommandSanitizer {
-    String sanitize(String command, List<?> args);
+    void sanitize(String command, List<?> args, StringBuilder sanitized);
   }
 
   enum KeepAllArgs implements CommandSanitizer {
     INSTANCE;
 
     @Override
-    public String sanitize(String command, List<?> args) {
-      StringBuilder sanitized = new StringBuilder(command);
-      for (Object arg : args) {
-        sanitized.append(" ").append(argToString(arg));
+    public void sanitize(String command, List<?> args, StringBuilder sanitized) {
+      sanitized.append(command);
+      for (int i = 0; i < args.size(); i++) {
+        appendArg(sanitized, args.get(i));
       }
-      return sanitized.toString();
     }
   }
 
@@ -395,15 +412,14 @@ public final class RedisCommandSanitizer {
     }
 
     @Override
-    public String sanitize(String command, List<?> args) {
-      StringBuilder sanitized = new StringBuilder(command);
+    public void sanitize(String command, List<?> args, StringBuilder sanitized) {
+      sanitized.append(command);
       for (int i = 0; i < numOfArgsToKeep && i < args.size(); ++i) {
-        sanitized.append(" ").append(argToString(args.get(i)));
+        appendArg(sanitized, args.get(i));
       }
       for (int i = numOfArgsToKeep; i < args.size(); ++i) {
         sanitized.append(" ?");
       }
-      return sanitized.toString();
     }
   }
 
@@ -417,18 +433,18 @@ public final class RedisCommandSanitizer {
     }
 
     @Override
-    public String sanitize(String command, List<?> args) {
-      StringBuilder sanitized = new StringBuilder(command);
+    public void sanitize(String command, List<?> args, StringBuilder sanitized) {
+      sanitized.append(command);
       // append all "initial" arguments before key-value pairs start
       for (int i = 0; i < numOfArgsBeforeKeyValue && i < args.size(); ++i) {
-        sanitized.append(" ").append(argToString(args.get(i)));
+        appendArg(sanitized, args.get(i));
       }
 
       // loop over keys only
       for (int i = numOfArgsBeforeKeyValue; i < args.size(); i += 2) {
-        sanitized.append(" ").append(argToString(args.get(i))).append(" ?");
+        appendArg(sanitized, args.get(i));
+        sanitized.append(" ?");
       }
-      return sanitized.toString();
     }
   }
 
@@ -436,8 +452,8 @@ public final class RedisCommandSanitizer {
     INSTANCE;
 
     @Override
-    public String sanitize(String command, List<?> args) {
-      StringBuilder sanitized = new StringBuilder(command);
+    public void sanitize(String command, List<?> args, StringBuilder sanitized) {
+      sanitized.append(command);
 
       // get the number of keys passed from the command itself (second arg)
       int numberOfKeys = 0;
@@ -452,21 +468,76 @@ public final class RedisCommandSanitizer {
       int i = 0;
       // log the script, number of keys and all keys
       for (; i < (numberOfKeys + 2) && i < args.size(); ++i) {
-        sanitized.append(" ").append(argToString(args.get(i)));
+        appendArg(sanitized, args.get(i));
       }
       // mask the rest
       for (; i < args.size(); ++i) {
         sanitized.append(" ?");
       }
-      return sanitized.toString();
     }
   }
 
+  private static void appendArg(StringBuilder sanitized, Object arg) {
+    sanitized.append(' ');
+    arg = unwrap(arg);
+    if (arg instanceof byte[]) {
+      byte[] bytes = (byte[]) arg;
+      if (!appendAscii(sanitized, bytes)) {
+        sanitized.append(new String(bytes, StandardCharsets.UTF_8));
+      }
+    } else if (arg instanceof ByteBuffer) {
+      ByteBuffer buffer = (ByteBuffer) arg;
+      if (!appendAscii(sanitized, buffer)) {
+        // decode a view, the position of the argument must not change
+        sanitized.append(StandardCharsets.UTF_8.decode(buffer.duplicate()));
+      }
+    } else {
+      sanitized.append(arg);
+    }
+  }
+
+  // appends the bytes when they are all ASCII, which is the case for nearly all keys; otherwise
+  // leaves the builder unchanged and returns false
+  private static boolean appendAscii(StringBuilder sanitized, byte[] bytes) {
+    for (byte b : bytes) {
+      if (b < 0) {
+        return false;
+      }
+    }
+    sanitized.ensureCapacity(sanitized.length() + bytes.length);
+    for (byte b : bytes) {
+      sanitized.append((char) b);
+    }
+    return true;
+  }
+
+  private static boolean appendAscii(StringBuilder sanitized, ByteBuffer buffer) {
+    int start = buffer.position();
+    int end = buffer.limit();
+    for (int i = start; i < end; i++) {
+      if (buffer.get(i) < 0) {
+        return false;
+      }
+    }
+    sanitized.ensureCapacity(sanitized.length() + end - start);
+    for (int i = start; i < end; i++) {
+      sanitized.append((char) buffer.get(i));
+    }
+    return true;
+  }
+
   static String argToString(Object arg) {
+    arg = unwrap(arg);
     if (arg instanceof byte[]) {
       return new String((byte[]) arg, StandardCharsets.UTF_8);
+    } else if (arg instanceof ByteBuffer) {
+      return StandardCharsets.UTF_8.decode(((ByteBuffer) arg).duplicate()).toString();
     } else {
       return String.valueOf(arg);
     }
   }
+
+  private static Object unwrap(Object arg) {
+    return arg instanceof LazyRedisArgument ? ((LazyRedisArgument) arg).resolve() : arg;
+  }
 }
@@ -0,0 +1,210 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.db;
+
+/**
+ * Computes a 64-bit hash of a SQL statement that ignores the values of its literals, so that
+ * statements like {@code WHERE id = 17} and {@code WHERE id = 18} share the same fingerprint.
+ *
+ * <p>Statements with equal fingerprints must sanitize to the same {@link SqlStatementInfo}, so the
+ * literals recognized here are a subset of the ones replaced by {@code AutoSqlSanitizer}, with the
+ * exact same boundaries: numbers, hexadecimal numbers, single-quoted and dollar-quoted strings, and
+ * double-quoted strings in the Couchbase dialect. Everything else, including identifiers, bind
+ * parameter markers and quoted identifiers, is hashed as is. Whenever a token can't be classified
+ * with certainty (e.g. an unterminated string) the rest of the statement is hashed as is.
+ *
+ * <p>Since different statements may still have the same fingerprint, {@link #isEquivalent(String,
+ * String, SqlDialect)} tells whether two statements with equal fingerprints really are the same.
+ */
+final class SqlStatementFingerprint {
+
+  private static final long PRIME = 0x100000001b3L;
+  private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+  // hashed instead of the content of a literal; not a valid UTF-16 character
+  private static final int LITERAL = 0x110000;
+
+  // a token is encoded as its end index, with LITERAL_TOKEN set for literals
+  private static final long LITERAL_TOKEN = 1L << 32;
+
+  static long compute(String statement, SqlDialect dialect) {
+    long hash = OFFSET_BASIS;
+    int i = 0;
+    while (i < statement.length()) {
+      long token = nextToken(statement, i, dialect);
+      int end = (int) token;
+      if ((token & LITERAL_TOKEN) != 0) {
+        hash = (hash ^ LITERAL) * PRIME;
+      } else {
+        hash = hashRange(hash, statement, i, end);
+      }
+      i = end;
+    }
+    return finish(hash);
+  }
+
+  /**
+   * Returns whether the two statements only differ in the values of their literals, i.e. whether
+   * they sanitize to the same {@link SqlStatementInfo}. Unlike equal fingerprints, this is not
+   * subject to hash collisions.
+   */
+  static boolean isEquivalent(String first, String second, SqlDialect dialect) {
+    if (first.equals(second)) {
+      return true;
+    }
+    int i = 0;
+    int j = 0;
+    while (i < first.length() && j < second.length()) {
+      long firstToken = nextToken(first, i, dialect);
+      long secondToken = nextToken(second, j, dialect);
+      int firstEnd = (int) firstToken;
+      int secondEnd = (int) secondToken;
+      boolean literal = (firstToken & LITERAL_TOKEN) != 0;
+      if (literal != ((secondToken & LITERAL_TOKEN) != 0)) {
+        return false;
+      }
+      if (!literal
+          && (firstEnd - i != secondEnd - j
+              || !first.regionMatches(i, second, j, firstEnd - i))) {
+        return false;
+      }
+      i = firstEnd;
+      j = secondEnd;
+    }
+    return i == first.length() && j == second.length();
+  }
+
+  private static long nextToken(String statement, int i, SqlDialect dialect) {
+    int length = statement.length();
+    int c = statement.codePointAt(i);
+    if (isIdentifierStart(c)) {
+      return skipIdentifier(statement, i + Character.charCount(c));
+    } else if (c >= '0' && c <= '9') {
+      return LITERAL_TOKEN | skipNumber(statement, i);
+    } else if (c == '\'' || (c == '"' && dialect == SqlDialect.COUCHBASE)) {
+      int end = skipQuoted(statement, i, (char) c);
+      // the rest of the statement is taken as is
+      return end < 0 ? length : LITERAL_TOKEN | end;
+    } else if (c == '"' || c == '`') {
+      int end = c == '"' ? skipQuoted(statement, i, '"') : skipBacktickQuoted(statement, i);
+      return end < 0 ? length : end;
+    } else if (c == '$') {
+      if (i + 1 < length && statement.charAt(i + 1) == '$') {
+        int end = skipDollarQuoted(statement, i);
+        return end < 0 ? length : LITERAL_TOKEN | end;
+      }
+      // bind parameter marker like $1
+      return skipDigits(statement, i + 1);
+    }
+    return i + Character.charCount(c);
+  }
+
+  // ([:letter:] | "_") ([:letter:] | [0-9] | [_.])*; all non-ASCII characters are treated as
+  // letters, so that digits following a letter that the lexer and the JDK classify differently are
+  // never taken for a number
+  private static boolean isIdentifierStart(int c) {
+    return c >= 0x80 || Character.isLetter(c) || c == '_';
+  }
+
+  private static int skipIdentifier(String statement, int start) {
+    int i = start;
+    while (i < statement.length()) {
+      int c = statement.codePointAt(i);
+      if (!isIdentifierStart(c) && !(c >= '0' && c <= '9') && c != '.') {
+        break;
+      }
+      i += Character.charCount(c);
+    }
+    return i;
+  }
+
+  // "0x" [a-f0-9]+ or [0-9] ([0-9] | [eE.+-])*; a sign or a dot right before the first digit is
+  // part of the number too, but it is hashed as is, the same way for all the statements
+  private static int skipNumber(String statement, int start) {
+    int length = statement.length();
+    if (statement.charAt(start) == '0'
+        && start + 2 < length
+        && (statement.charAt(start + 1) == 'x' || statement.charAt(start + 1) == 'X')
+        && isHexDigit(statement.charAt(start + 2))) {
+      int i = start + 3;
+      while (i < length && isHexDigit(statement.charAt(i))) {
+        i++;
+      }
+      return i;
+    }
+    int i = start + 1;
+    while (i < length) {
+      char c = statement.charAt(i);
+      if (!(c >= '0' && c <= '9') && c != 'e' && c != 'E' && c != '.' && c != '+' && c != '-') {
+        break;
+      }
+      i++;
+    }
+    return i;
+  }
+
+  private static int skipDigits(String statement, int start) {
+    int i = start;
+    while (i < statement.length() && statement.charAt(i) >= '0' && statement.charAt(i) <= '9') {
+      i++;
+    }
+    return i;
+  }
+
+  // returns the index after the closing quote, or -1 when the string is not terminated; two
+  // quotes in a row stand for an escaped quote
+  private static int skipQuoted(String statement, int start, char quote) {
+    int length = statement.length();
+    int i = start + 1;
+    while (i < length) {
+      if (statement.charAt(i) == quote) {
+        if (i + 1 < length && statement.charAt(i + 1) == quote) {
+          i += 2;
+          continue;
+        }
+        return i + 1;
+      }
+      i++;
+    }
+    return -1;
+  }
+
+  private static int skipBacktickQuoted(String statement, int start) {
+    int end = statement.indexOf('`', start + 1);
+    return end < 0 ? -1 : end + 1;
+  }
+
+  // "$$" [^$]* "$$"
+  private static int skipDollarQuoted(String statement, int start) {
+    int end = statement.indexOf('$', start + 2);
+    if (end < 0 || end + 1 >= statement.length() || statement.charAt(end + 1) != '$') {
+      return -1;
+    }
+    return end + 2;
+  }
+
+  private static boolean isHexDigit(char c) {
+    return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+  }
+
+  private static long hashRange(long hash, String statement, int start, int end) {
+    for (int i = start; i < end; i++) {
+      hash = (hash ^ statement.charAt(i)) * PRIME;
+    }
+    return hash;
+  }
+
+  // FNV-1a followed by a murmur3 finalizer to spread the bits of similar statements
+  private static long finish(long hash) {
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  private SqlStatementFingerprint() {}
+}
@@ -5,11 +5,16 @@
 
 package io.opentelemetry.instrumentation.api.incubator.semconv.db;
 
+import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.SQL_STATEMENT_SANITIZER_CACHE_EVICTION;
+import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.SQL_STATEMENT_SANITIZER_CACHE_HIT;
 import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.SQL_STATEMENT_SANITIZER_CACHE_MISS;
+import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.SQL_STATEMENT_SANITIZER_CACHE_WEIGHT;
 
 import com.google.auto.value.AutoValue;
+import io.opentelemetry.instrumentation.api.internal.ConfigPropertiesUtil;
 import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import io.opentelemetry.instrumentation.api.internal.cache.WeightedCache;
 import javax.annotation.Nullable;
 
 /**
@@ -19,8 +24,23 @@ import javax.annotation.Nullable;
 public final class SqlStatementSanitizer {
   private static final SupportabilityMetrics supportability = SupportabilityMetrics.instance();
 
-  private static final Cache<CacheKey, SqlStatementInfo> sqlToStatementInfoCache =
-      Cache.bounded(1000);
+  // the cache is keyed by a fingerprint that ignores literal values, so that statements that only
+  // differ in inlined literals share an entry; each entry keeps the statement it was created for,
+  // to tell fingerprint collisions apart; it is bounded by the total length of the cached
+  // statements, so that a few huge statements can't pin a lot of memory while many short ones
+  // still fit
+  private static final WeightedCache<CacheKey, CacheEntry> sqlToStatementInfoCache =
+      Cache.weighted(
+          ConfigPropertiesUtil.getInt(
+              "otel.instrumentation.common.db-statement-sanitizer.cache.max-weight", 1_000_000),
+          (key, value) -> value.weigh());
+
+  static {
+    supportability.registerCounter(
+        SQL_STATEMENT_SANITIZER_CACHE_EVICTION, sqlToStatementInfoCache::evictionCount);
+    supportability.registerGauge(
+        SQL_STATEMENT_SANITIZER_CACHE_WEIGHT, sqlToStatementInfoCache::weightedSize);
+  }
 
   public static SqlStatementSanitizer create(boolean statementSanitizationEnabled) {
     return new SqlStatementSanitizer(statementSanitizationEnabled);
@@ -40,22 +60,57 @@ public final class SqlStatementSanitizer {
     if (!statementSanitizationEnabled || statement == null) {
       return SqlStatementInfo.create(statement, null, null);
     }
-    return sqlToStatementInfoCache.computeIfAbsent(
-        CacheKey.create(statement, dialect),
-        k -> {
-          supportability.incrementCounter(SQL_STATEMENT_SANITIZER_CACHE_MISS);
-          return AutoSqlSanitizer.sanitize(statement, dialect);
-        });
+    CacheKey key = CacheKey.create(SqlStatementFingerprint.compute(statement, dialect), dialect);
+    CacheEntry cached = sqlToStatementInfoCache.get(key);
+    if (cached != null && cached.matches(statement, dialect)) {
+      supportability.incrementCounter(SQL_STATEMENT_SANITIZER_CACHE_HIT);
+      return cached.info;
+    }
+    if (cached == null) {
+      cached =
+          sqlToStatementInfoCache.computeIfAbsent(
+              key,
+              k -> {
+                supportability.incrementCounter(SQL_STATEMENT_SANITIZER_CACHE_MISS);
+                return new CacheEntry(statement, AutoSqlSanitizer.sanitize(statement, dialect));
+              });
+      // the entry was created for this statement, unless another thread created it concurrently
+      if (cached.matches(statement, dialect)) {
+        return cached.info;
+      }
+    }
+    // a different statement with the same fingerprint keeps the cache entry
+    supportability.incrementCounter(SQL_STATEMENT_SANITIZER_CACHE_MISS);
+    return AutoSqlSanitizer.sanitize(statement, dialect);
+  }
+
+  private static final class CacheEntry {
+    final String statement;
+    final SqlStatementInfo info;
+
+    CacheEntry(String statement, SqlStatementInfo info) {
+      this.statement = statement;
+      this.info = info;
+    }
+
+    boolean matches(String statement, SqlDialect dialect) {
+      return SqlStatementFingerprint.isEquivalent(this.statement, statement, dialect);
+    }
+
+    int weigh() {
+      String fullStatement = info.getFullStatement();
+      return statement.length() + (fullStatement == null ? 0 : fullStatement.length());
+    }
   }
 
   @AutoValue
   abstract static class CacheKey {
 
-    static CacheKey create(String statement, SqlDialect dialect) {
-      return new AutoValue_SqlStatementSanitizer_CacheKey(statement, dialect);
+    static CacheKey create(long fingerprint, SqlDialect dialect) {
+      return new AutoValue_SqlStatementSanitizer_CacheKey(fingerprint, dialect);
     }
 
-    abstract String getStatement();
+    abstract long getFingerprint();
 
     abstract SqlDialect getDialect();
   }
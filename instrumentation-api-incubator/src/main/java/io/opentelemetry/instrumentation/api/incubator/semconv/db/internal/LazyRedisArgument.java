@@ -0,0 +1,22 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.db.internal;
+
+import io.opentelemetry.instrumentation.api.incubator.semconv.db.RedisCommandSanitizer;
+
+/**
+ * A Redis command argument that is expensive to compute, e.g. because it has to be decoded first.
+ * The {@link RedisCommandSanitizer} only resolves it when the argument is kept in the sanitized
+ * statement.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public interface LazyRedisArgument {
+
+  /** Returns the actual argument, e.g. a {@code String} or a {@code byte[]}. */
+  Object resolve();
+}
@@ -8,6 +8,7 @@ package io.opentelemetry.instrumentation.api.incubator.semconv.messaging;
 import static io.opentelemetry.instrumentation.api.internal.AttributesExtractorUtil.internalSet;
 
 import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
@@ -88,6 +89,28 @@ public final class MessagingAttributesExtractor<REQUEST, RESPONSE>
 
   @Override
   public void onStart(AttributesBuilder attributes, Context parentContext, REQUEST request) {
+    MessagingBatch batch = getter.getBatch(request);
+    if (batch != null) {
+      Attributes shared = batch.getSharedAttributes(this);
+      if (shared == null) {
+        AttributesBuilder sharedBuilder = Attributes.builder();
+        onStartShared(sharedBuilder, request);
+        shared = sharedBuilder.build();
+        batch.setSharedAttributes(this, shared);
+      }
+      attributes.putAll(shared);
+    } else {
+      onStartShared(attributes, request);
+    }
+
+    internalSet(attributes, MESSAGING_MESSAGE_CONVERSATION_ID, getter.getConversationId(request));
+    internalSet(attributes, MESSAGING_MESSAGE_BODY_SIZE, getter.getMessageBodySize(request));
+    internalSet(
+        attributes, MESSAGING_MESSAGE_ENVELOPE_SIZE, getter.getMessageEnvelopeSize(request));
+  }
+
+  // attributes that are the same for all messages of a batch
+  private void onStartShared(AttributesBuilder attributes, REQUEST request) {
     internalSet(attributes, MESSAGING_SYSTEM, getter.getSystem(request));
     boolean isTemporaryDestination = getter.isTemporaryDestination(request);
     if (isTemporaryDestination) {
@@ -102,10 +125,6 @@ public final class MessagingAttributesExtractor<REQUEST, RESPONSE>
     if (isAnonymousDestination) {
       internalSet(attributes, MESSAGING_DESTINATION_ANONYMOUS, true);
     }
-    internalSet(attributes, MESSAGING_MESSAGE_CONVERSATION_ID, getter.getConversationId(request));
-    internalSet(attributes, MESSAGING_MESSAGE_BODY_SIZE, getter.getMessageBodySize(request));
-    internalSet(
-        attributes, MESSAGING_MESSAGE_ENVELOPE_SIZE, getter.getMessageEnvelopeSize(request));
     internalSet(attributes, MESSAGING_CLIENT_ID, getter.getClientId(request));
     if (operation != null) {
       internalSet(attributes, MESSAGING_OPERATION, operation.operationName());
@@ -62,6 +62,18 @@ public interface MessagingAttributesGetter<REQUEST, RESPONSE> {
   @Nullable
   Long getBatchMessageCount(REQUEST request, @Nullable RESPONSE response);
 
+  /**
+   * Returns the batch the message was received in, or {@code null} if the message is not a part of
+   * a batch.
+   *
+   * <p>All messages of a batch must have the same system, destination and client id; the {@link
+   * MessagingAttributesExtractor} then extracts these attributes only once for the whole batch.
+   */
+  @Nullable
+  default MessagingBatch getBatch(REQUEST request) {
+    return null;
+  }
+
   /**
    * Extracts all values of header named {@code name} from the request, or an empty list if there
    * were none.
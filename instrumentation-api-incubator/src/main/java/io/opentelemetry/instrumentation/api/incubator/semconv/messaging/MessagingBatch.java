@@ -0,0 +1,50 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.messaging;
+
+import io.opentelemetry.api.common.Attributes;
+import javax.annotation.Nullable;
+
+/**
+ * A batch of messages that were received together, e.g. the records of the same topic returned by
+ * a single poll.
+ *
+ * <p>All messages of a batch must have the same system, destination and client id. The {@link
+ * MessagingAttributesExtractor} extracts these attributes for the first message of the batch and
+ * keeps them in the batch, so that the following messages of the batch can reuse them.
+ */
+public final class MessagingBatch {
+
+  /** Returns a new, empty {@link MessagingBatch}. */
+  public static MessagingBatch create() {
+    return new MessagingBatch();
+  }
+
+  @Nullable private volatile SharedAttributes sharedAttributes;
+
+  private MessagingBatch() {}
+
+  @Nullable
+  Attributes getSharedAttributes(Object extractor) {
+    SharedAttributes shared = sharedAttributes;
+    return shared != null && shared.extractor == extractor ? shared.attributes : null;
+  }
+
+  void setSharedAttributes(Object extractor, Attributes attributes) {
+    sharedAttributes = new SharedAttributes(extractor, attributes);
+  }
+
+  // the attributes depend on the extractor that computed them, e.g. on its operation
+  private static final class SharedAttributes {
+    final Object extractor;
+    final Attributes attributes;
+
+    SharedAttributes(Object extractor, Attributes attributes) {
+      this.extractor = extractor;
+      this.attributes = attributes;
+    }
+  }
+}
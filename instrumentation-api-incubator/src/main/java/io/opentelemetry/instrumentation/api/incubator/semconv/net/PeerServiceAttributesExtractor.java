@@ -9,6 +9,8 @@ import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import io.opentelemetry.instrumentation.api.internal.ExtractorPhasesProvider;
+import io.opentelemetry.instrumentation.api.internal.SpanOnlyAttributesProvider;
 import io.opentelemetry.instrumentation.api.semconv.network.ServerAttributesGetter;
 import javax.annotation.Nullable;
 
@@ -18,7 +20,9 @@ import javax.annotation.Nullable;
  * specification</a>.
  */
 public final class PeerServiceAttributesExtractor<REQUEST, RESPONSE>
-    implements AttributesExtractor<REQUEST, RESPONSE> {
+    implements AttributesExtractor<REQUEST, RESPONSE>,
+        ExtractorPhasesProvider,
+        SpanOnlyAttributesProvider {
 
   // copied from PeerIncubatingAttributes
   private static final AttributeKey<String> PEER_SERVICE = AttributeKey.stringKey("peer.service");
@@ -74,4 +78,32 @@ public final class PeerServiceAttributesExtractor<REQUEST, RESPONSE>
     }
     return peerServiceResolver.resolveService(host, port, null);
   }
+
+  /**
+   * This method is internal and is hence not for public use. Its API is unstable and can change at
+   * any time.
+   */
+  @Override
+  public boolean internalExtractsOnStart() {
+    return false;
+  }
+
+  /**
+   * This method is internal and is hence not for public use. Its API is unstable and can change at
+   * any time.
+   */
+  @Override
+  public boolean internalExtractsOnEnd() {
+    return true;
+  }
+
+  /**
+   * This method is internal and is hence not for public use. Its API is unstable and can change at
+   * any time.
+   */
+  @Override
+  public boolean internalExtractsSpanOnlyAttributes() {
+    // peer.service is not used by any metrics, and is not meant to be used for sampling
+    return true;
+  }
 }
@@ -5,37 +5,36 @@
 
 package io.opentelemetry.instrumentation.api.incubator.semconv.net;
 
-import static java.util.Comparator.comparing;
-import static java.util.Comparator.naturalOrder;
-import static java.util.Comparator.nullsFirst;
-
-import com.google.auto.value.AutoValue;
 import io.opentelemetry.instrumentation.api.incubator.semconv.net.internal.UrlParser;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 
+/**
+ * Resolves the peer service of a host from the mappings of that host, which are compiled into
+ * lookup tables when the resolver is created:
+ *
+ * <ul>
+ *   <li>a mapping with a port is preferred over one without a port,
+ *   <li>a mapping with a path is preferred over one without a path, and the longest matching path
+ *       prefix wins; path prefixes are kept in a trie, so they are matched in a single walk over
+ *       the path,
+ *   <li>a mapping with a path but no port only applies to requests that have no port either.
+ * </ul>
+ */
 class PeerServiceResolverImpl implements PeerServiceResolver {
 
-  private static final Comparator<ServiceMatcher> matcherComparator =
-      nullsFirst(
-          comparing(ServiceMatcher::getPort, nullsFirst(naturalOrder()))
-              .thenComparing(comparing(ServiceMatcher::getPath, nullsFirst(naturalOrder()))));
-
-  private final Map<String, Map<ServiceMatcher, String>> mapping = new HashMap<>();
+  private final Map<String, HostMappings> mapping = new HashMap<>();
 
   PeerServiceResolverImpl(Map<String, String> peerServiceMapping) {
     peerServiceMapping.forEach(
         (key, serviceName) -> {
-          String url = "https://" + key;
-          String host = UrlParser.getHost(url);
-          Integer port = UrlParser.getPort(url);
-          String path = UrlParser.getPath(url);
-          Map<ServiceMatcher, String> matchers =
-              mapping.computeIfAbsent(host, x -> new HashMap<>());
-          matchers.putIfAbsent(ServiceMatcher.create(port, path), serviceName);
+          UrlParser url = UrlParser.parse("https://" + key);
+          mapping
+              .computeIfAbsent(url.getHost(), x -> new HostMappings())
+              .add(url.getPort(), url.getPath(), serviceName);
         });
   }
 
@@ -48,52 +47,134 @@ class PeerServiceResolverImpl implements PeerServiceResolver {
   @Nullable
   public String resolveService(
       String host, @Nullable Integer port, @Nullable Supplier<String> pathSupplier) {
-    Map<ServiceMatcher, String> matchers = mapping.get(host);
-    if (matchers == null) {
+    HostMappings hostMappings = mapping.get(host);
+    if (hostMappings == null) {
       return null;
     }
-    return matchers.entrySet().stream()
-        .filter(entry -> entry.getKey().matches(port, pathSupplier))
-        .max((o1, o2) -> matcherComparator.compare(o1.getKey(), o2.getKey()))
-        .map(Map.Entry::getValue)
-        .orElse(null);
+    return hostMappings.resolve(port, pathSupplier);
   }
 
-  @AutoValue
-  abstract static class ServiceMatcher {
+  private static final class HostMappings {
 
-    static ServiceMatcher create(Integer port, String path) {
-      return new AutoValue_PeerServiceResolverImpl_ServiceMatcher(port, path);
+    @Nullable private String service;
+    @Nullable private PathTrie pathServices;
+    private final Map<Integer, String> portServices = new HashMap<>();
+    private final Map<Integer, PathTrie> portPathServices = new HashMap<>();
+
+    // the first mapping of the same host, port and path wins
+    void add(@Nullable Integer port, @Nullable String path, String serviceName) {
+      if (port == null) {
+        if (path == null) {
+          if (service == null) {
+            service = serviceName;
+          }
+        } else {
+          if (pathServices == null) {
+            pathServices = new PathTrie();
+          }
+          pathServices.putIfAbsent(path, serviceName);
+        }
+      } else {
+        if (path == null) {
+          portServices.putIfAbsent(port, serviceName);
+        } else {
+          portPathServices
+              .computeIfAbsent(port, x -> new PathTrie())
+              .putIfAbsent(path, serviceName);
+        }
+      }
     }
 
     @Nullable
-    abstract Integer getPort();
+    String resolve(@Nullable Integer port, @Nullable Supplier<String> pathSupplier) {
+      if (port == null) {
+        String pathService = resolvePath(pathServices, pathSupplier);
+        return pathService != null ? pathService : service;
+      }
+      String portPathService = resolvePath(portPathServices.get(port), pathSupplier);
+      if (portPathService != null) {
+        return portPathService;
+      }
+      String portService = portServices.get(port);
+      return portService != null ? portService : service;
+    }
 
     @Nullable
-    abstract String getPath();
+    private static String resolvePath(
+        @Nullable PathTrie pathTrie, @Nullable Supplier<String> pathSupplier) {
+      // the path is only computed when there is a mapping that needs it
+      if (pathTrie == null || pathSupplier == null) {
+        return null;
+      }
+      String path = pathSupplier.get();
+      return path == null ? null : pathTrie.longestPrefixMatch(path);
+    }
+  }
 
-    public boolean matches(Integer port, Supplier<String> pathSupplier) {
-      if (this.getPort() != null) {
-        if (!this.getPort().equals(port)) {
-          return false;
-        }
+  // a character trie of path prefixes
+  private static final class PathTrie {
+
+    private final Node root = new Node();
+
+    void putIfAbsent(String path, String serviceName) {
+      Node node = root;
+      for (int i = 0; i < path.length(); i++) {
+        node = node.childOrCreate(path.charAt(i));
       }
-      if (this.getPath() != null && this.getPath().length() > 0) {
-        if (pathSupplier == null) {
-          return false;
-        }
-        String path = pathSupplier.get();
-        if (path == null) {
-          return false;
+      if (node.service == null) {
+        node.service = serviceName;
+      }
+    }
+
+    @Nullable
+    String longestPrefixMatch(String path) {
+      Node node = root;
+      String match = node.service;
+      for (int i = 0; i < path.length(); i++) {
+        node = node.child(path.charAt(i));
+        if (node == null) {
+          break;
         }
-        if (!path.startsWith(this.getPath())) {
-          return false;
+        if (node.service != null) {
+          match = node.service;
         }
-        if (port != null) {
-          return port.equals(this.getPort());
+      }
+      return match;
+    }
+  }
+
+  private static final class Node {
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    // children are few, so they are kept in small arrays scanned linearly
+    private char[] labels = NO_LABELS;
+    private Node[] children = NO_CHILDREN;
+    @Nullable private String service;
+
+    @Nullable
+    Node child(char c) {
+      char[] labels = this.labels;
+      for (int i = 0; i < labels.length; i++) {
+        if (labels[i] == c) {
+          return children[i];
         }
       }
-      return true;
+      return null;
+    }
+
+    Node childOrCreate(char c) {
+      Node child = child(c);
+      if (child == null) {
+        child = new Node();
+        int length = labels.length;
+        labels = Arrays.copyOf(labels, length + 1);
+        children = Arrays.copyOf(children, length + 1);
+        labels[length] = c;
+        children[length] = child;
+      }
+      return child;
     }
   }
 }
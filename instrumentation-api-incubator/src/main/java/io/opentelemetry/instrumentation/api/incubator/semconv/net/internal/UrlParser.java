@@ -5,82 +5,134 @@
 
 package io.opentelemetry.instrumentation.api.incubator.semconv.net.internal;
 
-import java.util.function.Predicate;
 import javax.annotation.Nullable;
 
 /**
- * This class is internal and is hence not for public use. Its APIs are unstable and can change at
- * any time.
+ * Splits a URL into its host, port and path in a single pass. Parsing only records the offsets of
+ * the components in the original string; the host and path strings are only created by the
+ * getters, and the port is read without creating a string at all.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
  */
 public final class UrlParser {
 
   @Nullable
   public static String getHost(String url) {
-
-    int startIndex = getHostStartIndex(url);
-    if (startIndex == -1) {
-      return null;
-    }
-
-    int endIndexExclusive = getHostEndIndexExclusive(url, startIndex);
-    if (endIndexExclusive == startIndex) {
-      return null;
-    }
-
-    return url.substring(startIndex, endIndexExclusive);
+    return parse(url).getHost();
   }
 
   @Nullable
   public static Integer getPort(String url) {
+    return parse(url).getPort();
+  }
 
-    int hostStartIndex = getHostStartIndex(url);
-    if (hostStartIndex == -1) {
-      return null;
-    }
+  @Nullable
+  public static String getPath(String url) {
+    return parse(url).getPath();
+  }
 
-    int hostEndIndexExclusive = getHostEndIndexExclusive(url, hostStartIndex);
-    if (hostEndIndexExclusive == hostStartIndex) {
-      return null;
-    }
+  /** Returns a view of the components of the {@code url}. */
+  public static UrlParser parse(String url) {
+    return new UrlParser(url);
+  }
 
-    if (hostEndIndexExclusive < url.length() && url.charAt(hostEndIndexExclusive) != ':') {
-      return null;
+  private final String url;
+  // -1 when the url has no authority component
+  private final int hostStart;
+  private final int hostEnd;
+  // -1 when there is no ':' after the host
+  private final int portStart;
+  private final int authorityEnd;
+  // equal to authorityEnd when there is no path
+  private final int pathEnd;
+
+  private UrlParser(String url) {
+    this.url = url;
+    int length = url.length();
+    hostStart = getHostStartIndex(url);
+    if (hostStart == -1) {
+      hostEnd = -1;
+      portStart = -1;
+      authorityEnd = -1;
+      pathEnd = -1;
+      return;
     }
 
-    int portStartIndex = hostEndIndexExclusive + 1;
-
-    int portEndIndexExclusive = getPortEndIndexExclusive(url, portStartIndex);
-    if (portEndIndexExclusive == portStartIndex) {
-      return null;
+    // look for the end of the host:
+    //   ':' ==> start of port, or
+    //   '/', '?', '#' ==> start of path
+    int index = hostStart;
+    while (index < length && !isHostEnd(url.charAt(index))) {
+      index++;
     }
+    hostEnd = index;
+
+    if (index < length && url.charAt(index) == ':') {
+      portStart = ++index;
+      // look for the end of the port:
+      //   '/', '?', '#' ==> start of path
+      while (index < length && !isAuthorityEnd(url.charAt(index))) {
+        index++;
+      }
+    } else {
+      portStart = -1;
+    }
+    authorityEnd = index;
 
-    return safeParse(url.substring(portStartIndex, portEndIndexExclusive));
+    if (index < length && url.charAt(index) == '/') {
+      // look for the end of the path:
+      //   '?', '#' ==> end of path
+      while (index < length && url.charAt(index) != '?' && url.charAt(index) != '#') {
+        index++;
+      }
+    }
+    pathEnd = index;
   }
 
   @Nullable
-  public static String getPath(String url) {
-
-    int hostStartIndex = getHostStartIndex(url);
-    if (hostStartIndex == -1) {
+  public String getHost() {
+    if (!hasHost()) {
       return null;
     }
+    return url.substring(hostStart, hostEnd);
+  }
 
-    int hostEndIndexExclusive = getHostEndIndexExclusive(url, hostStartIndex);
-    if (hostEndIndexExclusive == hostStartIndex) {
-      return null;
-    }
+  @Nullable
+  public Integer getPort() {
+    int port = getPortAsInt();
+    return port == -1 ? null : port;
+  }
 
-    int pathStartIndex = url.indexOf('/', hostEndIndexExclusive);
-    if (pathStartIndex == -1) {
-      return null;
+  /** Returns the port, or -1 when the url has no valid port. */
+  public int getPortAsInt() {
+    if (!hasHost() || portStart == -1 || portStart == authorityEnd) {
+      return -1;
     }
+    long port = 0;
+    for (int i = portStart; i < authorityEnd; i++) {
+      char c = url.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      port = port * 10 + (c - '0');
+      if (port > Integer.MAX_VALUE) {
+        return -1;
+      }
+    }
+    return (int) port;
+  }
 
-    int pathEndIndexExclusive = getPathEndIndexExclusive(url, pathStartIndex);
-    if (pathEndIndexExclusive == pathStartIndex) {
+  @Nullable
+  public String getPath() {
+    if (!hasHost() || pathEnd == authorityEnd) {
       return null;
     }
+    return url.substring(authorityEnd, pathEnd);
+  }
 
-    return url.substring(pathStartIndex, pathEndIndexExclusive);
+  private boolean hasHost() {
+    return hostStart != -1 && hostEnd != hostStart;
   }
 
   private static int getHostStartIndex(String url) {
@@ -102,47 +154,11 @@ public final class UrlParser {
     return schemeEndIndex + 3;
   }
 
-  private static int getHostEndIndexExclusive(String url, int startIndex) {
-    // look for the end of the host:
-    //   ':' ==> start of port, or
-    //   '/', '?', '#' ==> start of path
-    return getEndIndexExclusive(
-        url, startIndex, c -> (c == ':' || c == '/' || c == '?' || c == '#'));
+  private static boolean isHostEnd(char c) {
+    return c == ':' || isAuthorityEnd(c);
   }
 
-  private static int getPortEndIndexExclusive(String url, int startIndex) {
-    // look for the end of the port:
-    //   '/', '?', '#' ==> start of path
-    return getEndIndexExclusive(url, startIndex, c -> (c == '/' || c == '?' || c == '#'));
-  }
-
-  private static int getPathEndIndexExclusive(String url, int startIndex) {
-    // look for the end of the path:
-    //   '?', '#' ==> end of path
-    return getEndIndexExclusive(url, startIndex, c -> (c == '?' || c == '#'));
-  }
-
-  private static int getEndIndexExclusive(
-      String url, int startIndex, Predicate<Character> predicate) {
-    int index;
-    int len = url.length();
-    for (index = startIndex; index < len; index++) {
-      char c = url.charAt(index);
-      if (predicate.test(c)) {
-        break;
-      }
-    }
-    return index;
+  private static boolean isAuthorityEnd(char c) {
+    return c == '/' || c == '?' || c == '#';
   }
-
-  @Nullable
-  private static Integer safeParse(String port) {
-    try {
-      return Integer.valueOf(port);
-    } catch (NumberFormatException e) {
-      return null;
-    }
-  }
-
-  private UrlParser() {}
 }
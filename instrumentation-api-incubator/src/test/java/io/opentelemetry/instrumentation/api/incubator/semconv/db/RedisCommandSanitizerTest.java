@@ -7,8 +7,12 @@ package io.opentelemetry.instrumentation.api.incubator.semconv.db;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
+import io.opentelemetry.instrumentation.api.incubator.semconv.db.internal.LazyRedisArgument;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtensionContext;
@@ -41,6 +45,73 @@ class RedisCommandSanitizerTest {
     assertThat(result).isEqualTo("NEWAUTH ? ?");
   }
 
+  @Test
+  void binaryArguments() {
+    List<Object> args =
+        Arrays.asList(
+            "key".getBytes(StandardCharsets.UTF_8),
+            ByteBuffer.wrap("sch\u00fcssel".getBytes(StandardCharsets.UTF_8)),
+            "value".getBytes(StandardCharsets.UTF_8));
+    String result = RedisCommandSanitizer.create(true).sanitize("HSET", args);
+    assertThat(result).isEqualTo("HSET key sch\u00fcssel ?");
+    // the buffer is not consumed
+    assertThat(((ByteBuffer) args.get(1)).position()).isZero();
+  }
+
+  @Test
+  void maskedArgumentsAreNotConverted() {
+    Object secret =
+        new Object() {
+          @Override
+          public String toString() {
+            throw new AssertionError("masked argument must not be converted");
+          }
+        };
+    String result =
+        RedisCommandSanitizer.create(true).sanitize("SET", Arrays.asList("key", secret));
+    assertThat(result).isEqualTo("SET key ?");
+  }
+
+  @Test
+  void lazyArguments() {
+    LazyRedisArgument key = () -> "key".getBytes(StandardCharsets.UTF_8);
+    LazyRedisArgument value =
+        () -> {
+          throw new AssertionError("masked argument must not be resolved");
+        };
+    String result = RedisCommandSanitizer.create(true).sanitize("SET", Arrays.asList(key, value));
+    assertThat(result).isEqualTo("SET key ?");
+  }
+
+  @Test
+  void otherSuppliersAreNotResolved() {
+    Supplier<Object> value =
+        new Supplier<Object>() {
+          @Override
+          public Object get() {
+            throw new AssertionError("argument must not be supplied");
+          }
+
+          @Override
+          public String toString() {
+            return "value";
+          }
+        };
+    String result =
+        RedisCommandSanitizer.create(false).sanitize("SET", Arrays.asList("key", value));
+    assertThat(result).isEqualTo("SET key value");
+  }
+
+  @Test
+  void appendToBuilder() {
+    RedisCommandSanitizer sanitizer = RedisCommandSanitizer.create(true);
+    StringBuilder statement = new StringBuilder();
+    sanitizer.sanitize("SET", list("key", "value"), statement);
+    statement.append(';');
+    sanitizer.sanitize("GET", list("key"), statement);
+    assertThat(statement.toString()).isEqualTo("SET key ?;GET key");
+  }
+
   static class SanitizeArgs implements ArgumentsProvider {
 
     @Override
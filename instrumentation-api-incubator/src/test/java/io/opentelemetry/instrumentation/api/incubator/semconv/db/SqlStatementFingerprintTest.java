@@ -0,0 +1,79 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+class SqlStatementFingerprintTest {
+
+  @ParameterizedTest
+  @ArgumentsSource(SameFingerprintArgs.class)
+  void ignoresLiterals(String first, String second) {
+    assertThat(SqlStatementFingerprint.compute(first, SqlDialect.DEFAULT))
+        .isEqualTo(SqlStatementFingerprint.compute(second, SqlDialect.DEFAULT));
+    assertThat(SqlStatementFingerprint.isEquivalent(first, second, SqlDialect.DEFAULT)).isTrue();
+    assertThat(SqlStatementSanitizer.create(true).sanitize(first))
+        .isEqualTo(SqlStatementSanitizer.create(true).sanitize(second));
+  }
+
+  @ParameterizedTest
+  @ArgumentsSource(DifferentFingerprintArgs.class)
+  void keepsEverythingElse(String first, String second) {
+    assertThat(SqlStatementFingerprint.compute(first, SqlDialect.DEFAULT))
+        .isNotEqualTo(SqlStatementFingerprint.compute(second, SqlDialect.DEFAULT));
+    assertThat(SqlStatementFingerprint.isEquivalent(first, second, SqlDialect.DEFAULT)).isFalse();
+  }
+
+  @Test
+  void couchbaseStringLiterals() {
+    String first = "SELECT * FROM b WHERE x = \"a\"";
+    String second = "SELECT * FROM b WHERE x = \"b\"";
+
+    assertThat(SqlStatementFingerprint.compute(first, SqlDialect.DEFAULT))
+        .isNotEqualTo(SqlStatementFingerprint.compute(second, SqlDialect.DEFAULT));
+    assertThat(SqlStatementFingerprint.compute(first, SqlDialect.COUCHBASE))
+        .isEqualTo(SqlStatementFingerprint.compute(second, SqlDialect.COUCHBASE));
+  }
+
+  static class SameFingerprintArgs implements ArgumentsProvider {
+
+    @Override
+    public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
+      return Stream.of(
+          Arguments.of("SELECT * FROM t WHERE id = 17", "SELECT * FROM t WHERE id = 18"),
+          Arguments.of("SELECT * FROM t WHERE id = 9", "SELECT * FROM t WHERE id = 1000"),
+          Arguments.of("SELECT * FROM t WHERE a = 'x'", "SELECT * FROM t WHERE a = 'it''s'"),
+          Arguments.of("SELECT 1e5, -2, .5", "SELECT 3.25, -7, .9"),
+          Arguments.of("SELECT 0x1F", "SELECT 0xff"),
+          Arguments.of("SELECT $$a$$", "SELECT $$bb$$"),
+          Arguments.of("SELECT * FROM t WHERE id IN (1, 2)", "SELECT * FROM t WHERE id IN (3, 4)"));
+    }
+  }
+
+  static class DifferentFingerprintArgs implements ArgumentsProvider {
+
+    @Override
+    public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
+      return Stream.of(
+          Arguments.of("SELECT * FROM t1", "SELECT * FROM t2"),
+          Arguments.of("SELECT * FROM t WHERE a = $1", "SELECT * FROM t WHERE a = $2"),
+          Arguments.of("SELECT * FROM \"t1\"", "SELECT * FROM \"t2\""),
+          Arguments.of("SELECT * FROM `t1`", "SELECT * FROM `t2`"),
+          Arguments.of("SELECT * FROM t WHERE a = 'x", "SELECT * FROM t WHERE a = 'y"),
+          Arguments.of("SELECT * FROM t WHERE a = ?", "SELECT * FROM t WHERE a = 1"),
+          Arguments.of("SELECT * FROM t WHERE id IN (1, 2)", "SELECT * FROM t WHERE id IN (1)"),
+          Arguments.of("SELECT * FROM t WHERE a = 1", "SELECT  * FROM t WHERE a = 1"));
+    }
+  }
+}
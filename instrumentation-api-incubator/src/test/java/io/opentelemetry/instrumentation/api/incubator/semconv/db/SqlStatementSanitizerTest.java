@@ -137,6 +137,43 @@ public class SqlStatementSanitizerTest {
     assertThat(sanitized).isEqualTo("select col from table where col in (?)");
   }
 
+  @Test
+  void repeatedValuesTuplesAreCollapsed() {
+    String sanitized =
+        SqlStatementSanitizer.create(true)
+            .sanitize(
+                "insert into table (a, b) values (1, 'x'), (2, 'y'), (3, ?) on conflict do nothing")
+            .getFullStatement();
+
+    assertThat(sanitized)
+        .isEqualTo("insert into table (a, b) values (?, ?) on conflict do nothing");
+  }
+
+  @Test
+  void differentValuesTuplesAreKept() {
+    String sanitized =
+        SqlStatementSanitizer.create(true)
+            .sanitize("insert into table values (1, 2), (3, 4, 5), (6, now())")
+            .getFullStatement();
+
+    assertThat(sanitized).isEqualTo("insert into table values (?, ?), (?, ?, ?), (?, now())");
+  }
+
+  @Test
+  void hugeBatchInsertIsCutAtLimit() {
+    StringBuilder s = new StringBuilder("INSERT INTO table (a, b, c) VALUES (1, 'abc', 2.5)");
+    for (int i = 0; i < 100_000; i++) {
+      s.append(", (").append(i).append(", 'abc', 2.5)");
+    }
+
+    SqlStatementInfo result = SqlStatementSanitizer.create(true).sanitize(s.toString());
+
+    assertThat(result)
+        .isEqualTo(
+            SqlStatementInfo.create(
+                "INSERT INTO table (a, b, c) VALUES (?, ?, ?)", "INSERT", "table"));
+  }
+
   static class SqlArgs implements ArgumentsProvider {
 
     @Override
@@ -7,6 +7,10 @@ package io.opentelemetry.instrumentation.api.incubator.semconv.messaging;
 
 import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
@@ -130,6 +134,107 @@ class MessagingAttributesExtractorTest {
     assertThat(endAttributes.build().isEmpty()).isTrue();
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldExtractSharedAttributesOncePerBatch() {
+    // given
+    MessagingAttributesGetter<String, Void> getter = mock(MessagingAttributesGetter.class);
+    MessagingBatch firstBatch = MessagingBatch.create();
+    MessagingBatch secondBatch = MessagingBatch.create();
+    when(getter.getBatch("m1")).thenReturn(firstBatch);
+    when(getter.getBatch("m2")).thenReturn(firstBatch);
+    when(getter.getBatch("m3")).thenReturn(secondBatch);
+    when(getter.getSystem("m1")).thenReturn("kafka");
+    when(getter.getSystem("m3")).thenReturn("kafka");
+    when(getter.getDestination("m1")).thenReturn("first");
+    when(getter.getDestination("m3")).thenReturn("second");
+    when(getter.getMessageBodySize("m1")).thenReturn(10L);
+    when(getter.getMessageBodySize("m2")).thenReturn(20L);
+    when(getter.getMessageBodySize("m3")).thenReturn(30L);
+
+    AttributesExtractor<String, Void> underTest =
+        MessagingAttributesExtractor.create(getter, MessageOperation.PROCESS);
+
+    Context context = Context.root();
+
+    // when
+    AttributesBuilder first = Attributes.builder();
+    underTest.onStart(first, context, "m1");
+    AttributesBuilder second = Attributes.builder();
+    underTest.onStart(second, context, "m2");
+    AttributesBuilder third = Attributes.builder();
+    underTest.onStart(third, context, "m3");
+
+    // then
+    assertThat(first.build())
+        .containsOnly(
+            entry(MessagingIncubatingAttributes.MESSAGING_SYSTEM, "kafka"),
+            entry(MessagingIncubatingAttributes.MESSAGING_DESTINATION_NAME, "first"),
+            entry(MessagingIncubatingAttributes.MESSAGING_MESSAGE_BODY_SIZE, 10L),
+            entry(MessagingIncubatingAttributes.MESSAGING_OPERATION, "process"));
+    assertThat(second.build())
+        .containsOnly(
+            entry(MessagingIncubatingAttributes.MESSAGING_SYSTEM, "kafka"),
+            entry(MessagingIncubatingAttributes.MESSAGING_DESTINATION_NAME, "first"),
+            entry(MessagingIncubatingAttributes.MESSAGING_MESSAGE_BODY_SIZE, 20L),
+            entry(MessagingIncubatingAttributes.MESSAGING_OPERATION, "process"));
+    assertThat(third.build())
+        .containsOnly(
+            entry(MessagingIncubatingAttributes.MESSAGING_SYSTEM, "kafka"),
+            entry(MessagingIncubatingAttributes.MESSAGING_DESTINATION_NAME, "second"),
+            entry(MessagingIncubatingAttributes.MESSAGING_MESSAGE_BODY_SIZE, 30L),
+            entry(MessagingIncubatingAttributes.MESSAGING_OPERATION, "process"));
+
+    verify(getter, times(1)).getSystem("m1");
+    verify(getter, times(0)).getSystem("m2");
+    verify(getter, times(1)).getSystem("m3");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldKeepSharedAttributesOfInterleavedBatches() {
+    // given
+    MessagingAttributesGetter<String, Void> getter = mock(MessagingAttributesGetter.class);
+    MessagingBatch firstBatch = MessagingBatch.create();
+    MessagingBatch secondBatch = MessagingBatch.create();
+    when(getter.getBatch("a1")).thenReturn(firstBatch);
+    when(getter.getBatch("a2")).thenReturn(firstBatch);
+    when(getter.getBatch("b1")).thenReturn(secondBatch);
+    when(getter.getBatch("b2")).thenReturn(secondBatch);
+    when(getter.getDestination("a1")).thenReturn("first");
+    when(getter.getDestination("b1")).thenReturn("second");
+
+    AttributesExtractor<String, Void> underTest =
+        MessagingAttributesExtractor.create(getter, MessageOperation.PROCESS);
+
+    Context context = Context.root();
+
+    // when
+    AttributesBuilder a1 = Attributes.builder();
+    underTest.onStart(a1, context, "a1");
+    AttributesBuilder b1 = Attributes.builder();
+    underTest.onStart(b1, context, "b1");
+    AttributesBuilder a2 = Attributes.builder();
+    underTest.onStart(a2, context, "a2");
+    AttributesBuilder b2 = Attributes.builder();
+    underTest.onStart(b2, context, "b2");
+
+    // then
+    assertThat(a2.build())
+        .containsOnly(
+            entry(MessagingIncubatingAttributes.MESSAGING_DESTINATION_NAME, "first"),
+            entry(MessagingIncubatingAttributes.MESSAGING_OPERATION, "process"));
+    assertThat(b2.build())
+        .containsOnly(
+            entry(MessagingIncubatingAttributes.MESSAGING_DESTINATION_NAME, "second"),
+            entry(MessagingIncubatingAttributes.MESSAGING_OPERATION, "process"));
+
+    verify(getter, times(1)).getDestination("a1");
+    verify(getter, times(1)).getDestination("b1");
+    verify(getter, times(0)).getDestination("a2");
+    verify(getter, times(0)).getDestination("b2");
+  }
+
   enum TestGetter implements MessagingAttributesGetter<Map<String, String>, String> {
     INSTANCE;
 
@@ -6,6 +6,7 @@
 package io.opentelemetry.instrumentation.api.incubator.semconv.net;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -35,4 +36,29 @@ class PeerServiceResolverTest {
     assertEquals(
         "someOtherServiceAPI", peerServiceResolver.resolveService("1.2.3.4", null, () -> "/api"));
   }
+
+  @Test
+  void longestPathPrefixWins() {
+    Map<String, String> peerServiceMapping = new HashMap<>();
+    peerServiceMapping.put("example.com/api", "apiService");
+    peerServiceMapping.put("example.com/api/v2", "apiV2Service");
+    peerServiceMapping.put("example.com:8080/api", "apiService8080");
+    peerServiceMapping.put("example.com:8080/api/v2/users", "usersService8080");
+
+    PeerServiceResolver peerServiceResolver = PeerServiceResolver.create(peerServiceMapping);
+
+    assertEquals(
+        "apiService", peerServiceResolver.resolveService("example.com", null, () -> "/api"));
+    assertEquals(
+        "apiV2Service", peerServiceResolver.resolveService("example.com", null, () -> "/api/v2/x"));
+    assertNull(peerServiceResolver.resolveService("example.com", null, () -> "/other"));
+    assertEquals(
+        "apiService8080",
+        peerServiceResolver.resolveService("example.com", 8080, () -> "/api/v2/user"));
+    assertEquals(
+        "usersService8080",
+        peerServiceResolver.resolveService("example.com", 8080, () -> "/api/v2/users/1"));
+    // mappings without a port only apply to requests without a port
+    assertNull(peerServiceResolver.resolveService("example.com", 9000, () -> "/api"));
+  }
 }
@@ -246,4 +246,33 @@ class UrlParserTest {
     assertThat(UrlParser.getPath("/#fragment")).isNull();
     assertThat(UrlParser.getPath("/api/v1#fragment")).isNull();
   }
+
+  @Test
+  void testGetPathIgnoresSlashesInQueryAndFragment() {
+    assertThat(UrlParser.getPath("https://localhost?redirect=/api/v1")).isNull();
+    assertThat(UrlParser.getPath("https://localhost:8080#/api/v1")).isNull();
+    assertThat(UrlParser.getPath("https://localhost/api?redirect=/v1")).isEqualTo("/api");
+  }
+
+  @Test
+  void testGetInvalidPort() {
+    assertThat(UrlParser.getPort("https://localhost:/")).isNull();
+    assertThat(UrlParser.getPort("https://localhost:80a/")).isNull();
+    assertThat(UrlParser.getPort("https://localhost:99999999999/")).isNull();
+    assertThat(UrlParser.getPort("https://:8080/")).isNull();
+  }
+
+  @Test
+  void testParse() {
+    UrlParser url = UrlParser.parse("https://localhost:8080/api/v1?query#fragment");
+    assertThat(url.getHost()).isEqualTo("localhost");
+    assertThat(url.getPort()).isEqualTo(8080);
+    assertThat(url.getPortAsInt()).isEqualTo(8080);
+    assertThat(url.getPath()).isEqualTo("/api/v1");
+
+    UrlParser noAuthority = UrlParser.parse("/api/v1");
+    assertThat(noAuthority.getHost()).isNull();
+    assertThat(noAuthority.getPortAsInt()).isEqualTo(-1);
+    assertThat(noAuthority.getPath()).isNull();
+  }
 }
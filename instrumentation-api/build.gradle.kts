@@ -28,10 +28,6 @@ dependencies {
 }
 
 tasks {
-  named<Checkstyle>("checkstyleMain") {
-    exclude("**/concurrentlinkedhashmap/**")
-  }
-
   // TODO this should live in jmh-conventions
   named<JavaCompile>("jmhCompileGeneratedClasses") {
     options.errorprone {
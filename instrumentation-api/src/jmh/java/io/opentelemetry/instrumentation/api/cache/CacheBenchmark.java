@@ -6,7 +6,13 @@
 package io.opentelemetry.instrumentation.api.cache;
 
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.AuxCounters;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
@@ -29,6 +35,16 @@ public class CacheBenchmark {
   private static final Cache<Object, Object> boundedLargeCache = Cache.bounded(10);
   private static final Cache<Object, Object> boundedSmallCache = Cache.bounded(1);
 
+  // read-heavy and scan-heavy workloads comparing the W-TinyLFU Cache.bounded() implementation with
+  // a synchronized LRU LinkedHashMap; the hits and misses counters show the resulting hit rates
+  private static final int CAPACITY = 1_000;
+  private static final int HOT_KEYS = 10 * CAPACITY;
+
+  private static final Cache<Integer, Integer> readHeavyCache = Cache.bounded(CAPACITY);
+  private static final Cache<Integer, Integer> scanHeavyCache = Cache.bounded(CAPACITY);
+  private static final Map<Integer, Integer> readHeavyLruMap = newLruMap();
+  private static final Map<Integer, Integer> scanHeavyLruMap = newLruMap();
+
   private String key;
   private String key2;
 
@@ -155,4 +171,145 @@ public class CacheBenchmark {
     blackhole.consume(boundedSmallCache.get(key));
     blackhole.consume(boundedSmallCache.get(key2));
   }
+
+  @Benchmark
+  @Threads(1)
+  public void threads01_readHeavy_bounded(Workload workload) {
+    workload.access(workload.readHeavyKeys, readHeavyCache);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void threads01_readHeavy_lru(Workload workload) {
+    workload.access(workload.readHeavyKeys, readHeavyLruMap);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void threads01_scanHeavy_bounded(Workload workload) {
+    workload.access(workload.scanHeavyKeys, scanHeavyCache);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void threads01_scanHeavy_lru(Workload workload) {
+    workload.access(workload.scanHeavyKeys, scanHeavyLruMap);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void threads08_readHeavy_bounded(Workload workload) {
+    workload.access(workload.readHeavyKeys, readHeavyCache);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void threads08_readHeavy_lru(Workload workload) {
+    workload.access(workload.readHeavyKeys, readHeavyLruMap);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void threads08_scanHeavy_bounded(Workload workload) {
+    workload.access(workload.scanHeavyKeys, scanHeavyCache);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void threads08_scanHeavy_lru(Workload workload) {
+    workload.access(workload.scanHeavyKeys, scanHeavyLruMap);
+  }
+
+  @Benchmark
+  @Threads(64)
+  public void threads64_readHeavy_bounded(Workload workload) {
+    workload.access(workload.readHeavyKeys, readHeavyCache);
+  }
+
+  @Benchmark
+  @Threads(64)
+  public void threads64_readHeavy_lru(Workload workload) {
+    workload.access(workload.readHeavyKeys, readHeavyLruMap);
+  }
+
+  @Benchmark
+  @Threads(64)
+  public void threads64_scanHeavy_bounded(Workload workload) {
+    workload.access(workload.scanHeavyKeys, scanHeavyCache);
+  }
+
+  @Benchmark
+  @Threads(64)
+  public void threads64_scanHeavy_lru(Workload workload) {
+    workload.access(workload.scanHeavyKeys, scanHeavyLruMap);
+  }
+
+  private static Map<Integer, Integer> newLruMap() {
+    return Collections.synchronizedMap(new LruMap());
+  }
+
+  private static final class LruMap extends LinkedHashMap<Integer, Integer> {
+    private static final long serialVersionUID = 1L;
+
+    LruMap() {
+      super(16, 0.75f, /* accessOrder= */ true);
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+      return size() > CAPACITY;
+    }
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Workload {
+
+    private static final int KEYS_SIZE = 1 << 16;
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+
+    // skewed towards a small set of popular keys
+    private final Integer[] readHeavyKeys = new Integer[KEYS_SIZE];
+    // every other access is part of a scan over keys that are never accessed again
+    private final Integer[] scanHeavyKeys = new Integer[KEYS_SIZE];
+    private int index;
+
+    public long hits;
+    public long misses;
+
+    @Setup
+    public void setUp() {
+      int thread = threadCounter.getAndIncrement();
+      Random random = new Random(thread);
+      for (int i = 0; i < KEYS_SIZE; i++) {
+        readHeavyKeys[i] = popularKey(random);
+        scanHeavyKeys[i] = i % 2 == 0 ? popularKey(random) : HOT_KEYS + thread * KEYS_SIZE + i;
+      }
+    }
+
+    private static Integer popularKey(Random random) {
+      double uniform = random.nextDouble();
+      return (int) (HOT_KEYS * uniform * uniform * uniform);
+    }
+
+    void access(Integer[] keys, Cache<Integer, Integer> cache) {
+      Integer key = keys[index++ & (KEYS_SIZE - 1)];
+      if (cache.get(key) == null) {
+        misses++;
+        cache.put(key, key);
+      } else {
+        hits++;
+      }
+    }
+
+    void access(Integer[] keys, Map<Integer, Integer> map) {
+      Integer key = keys[index++ & (KEYS_SIZE - 1)];
+      if (map.get(key) == null) {
+        misses++;
+        map.put(key, key);
+      } else {
+        hits++;
+      }
+    }
+  }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.InstrumenterBenchmark.ConstantHttpAttributesGetter;
+import io.opentelemetry.instrumentation.api.semconv.http.HttpClientAttributesExtractor;
+import io.opentelemetry.instrumentation.api.semconv.http.HttpSpanNameExtractor;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures how many bytes the attribute collection in {@link Instrumenter} allocates per operation.
+ *
+ * <p>The {@code baseline} benchmark runs an instrumenter without any extractors, the {@code
+ * extractors} benchmark runs the same instrumenter with an HTTP client attributes extractor. The
+ * difference between the two is the cost of collecting attributes. Run the {@link #main(String[])}
+ * method to fail when that difference exceeds {@link #MAX_ATTRIBUTES_BYTES_PER_OP}.
+ */
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class InstrumenterAllocationBenchmark {
+
+  // the start and end attribute tables plus the values that the extractor itself computes
+  private static final double MAX_ATTRIBUTES_BYTES_PER_OP = 768;
+
+  private static final Instrumenter<Void, Void> BASELINE_INSTRUMENTER =
+      Instrumenter.<Void, Void>builder(
+              OpenTelemetry.noop(),
+              "benchmark",
+              HttpSpanNameExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
+          .buildInstrumenter();
+
+  private static final Instrumenter<Void, Void> EXTRACTORS_INSTRUMENTER =
+      Instrumenter.<Void, Void>builder(
+              OpenTelemetry.noop(),
+              "benchmark",
+              HttpSpanNameExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
+          .addAttributesExtractor(
+              HttpClientAttributesExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
+          .buildInstrumenter();
+
+  @Benchmark
+  public Context baseline() {
+    Context context = BASELINE_INSTRUMENTER.start(Context.root(), null);
+    BASELINE_INSTRUMENTER.end(context, null, null, null);
+    return context;
+  }
+
+  @Benchmark
+  public Context extractors() {
+    Context context = EXTRACTORS_INSTRUMENTER.start(Context.root(), null);
+    EXTRACTORS_INSTRUMENTER.end(context, null, null, null);
+    return context;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Collection<RunResult> results =
+        new Runner(
+                new OptionsBuilder()
+                    .include(InstrumenterAllocationBenchmark.class.getSimpleName())
+                    .addProfiler(GCProfiler.class)
+                    .build())
+            .run();
+
+    double baseline = Double.NaN;
+    double extractors = Double.NaN;
+    for (RunResult result : results) {
+      Result<?> allocated = result.getSecondaryResults().get("gc.alloc.rate.norm");
+      if (allocated == null) {
+        throw new IllegalStateException("GC profiler did not report gc.alloc.rate.norm");
+      }
+      String benchmark = result.getParams().getBenchmark();
+      if (benchmark.endsWith(".baseline")) {
+        baseline = allocated.getScore();
+      } else if (benchmark.endsWith(".extractors")) {
+        extractors = allocated.getScore();
+      }
+    }
+
+    double attributesBytes = extractors - baseline;
+    if (!(attributesBytes <= MAX_ATTRIBUTES_BYTES_PER_OP)) {
+      throw new IllegalStateException(
+          "Collecting attributes allocated "
+              + attributesBytes
+              + " bytes/op, expected at most "
+              + MAX_ATTRIBUTES_BYTES_PER_OP);
+    }
+  }
+}
@@ -5,11 +5,19 @@
 
 package io.opentelemetry.instrumentation.api.instrumenter;
 
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
 import io.opentelemetry.instrumentation.api.semconv.http.HttpClientAttributesExtractor;
 import io.opentelemetry.instrumentation.api.semconv.http.HttpClientAttributesGetter;
+import io.opentelemetry.instrumentation.api.semconv.http.HttpServerAttributesExtractor;
+import io.opentelemetry.instrumentation.api.semconv.http.HttpServerAttributesGetter;
 import io.opentelemetry.instrumentation.api.semconv.http.HttpSpanNameExtractor;
+import io.opentelemetry.instrumentation.api.semconv.network.ClientAttributesExtractor;
+import io.opentelemetry.instrumentation.api.semconv.network.NetworkAttributesExtractor;
+import io.opentelemetry.instrumentation.api.semconv.url.UrlAttributesExtractor;
 import java.net.InetSocketAddress;
 import java.util.Collections;
 import java.util.List;
@@ -42,6 +50,27 @@ public class InstrumenterBenchmark {
               HttpClientAttributesExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
           .buildInstrumenter();
 
+  // mirrors a typical HTTP server instrumenter; some of the extractors only contribute attributes
+  // in one of the phases
+  private static final Instrumenter<Void, Void> SERVER_INSTRUMENTER =
+      Instrumenter.<Void, Void>builder(
+              OpenTelemetry.noop(),
+              "benchmark",
+              HttpSpanNameExtractor.create(ConstantHttpServerAttributesGetter.INSTANCE))
+          .addAttributesExtractor(
+              HttpServerAttributesExtractor.create(ConstantHttpServerAttributesGetter.INSTANCE))
+          .addAttributesExtractor(
+              UrlAttributesExtractor.create(ConstantHttpServerAttributesGetter.INSTANCE))
+          .addAttributesExtractor(
+              ClientAttributesExtractor.create(ConstantHttpServerAttributesGetter.INSTANCE))
+          .addAttributesExtractor(
+              NetworkAttributesExtractor.create(ConstantHttpServerAttributesGetter.INSTANCE))
+          .addAttributesExtractor(AttributesExtractor.constant(stringKey("service.tier"), "web"))
+          .addAttributesExtractor(AttributesExtractor.constant(stringKey("deployment"), "canary"))
+          .addAttributesExtractor(AttributesExtractor.constant(stringKey("region"), "eu-west-1"))
+          .addAttributesExtractor(AttributesExtractor.constant(stringKey("cluster"), "blue"))
+          .buildServerInstrumenter(EmptyGetter.INSTANCE);
+
   @Benchmark
   public Context start() {
     return INSTRUMENTER.start(Context.root(), null);
@@ -54,6 +83,13 @@ public class InstrumenterBenchmark {
     return context;
   }
 
+  @Benchmark
+  public Context serverStartEnd() {
+    Context context = SERVER_INSTRUMENTER.start(Context.root(), null);
+    SERVER_INSTRUMENTER.end(context, null, null, null);
+    return context;
+  }
+
   enum ConstantHttpAttributesGetter implements HttpClientAttributesGetter<Void, Void> {
     INSTANCE;
 
@@ -116,4 +152,85 @@ public class InstrumenterBenchmark {
       return PEER_ADDRESS;
     }
   }
+
+  enum ConstantHttpServerAttributesGetter implements HttpServerAttributesGetter<Void, Void> {
+    INSTANCE;
+
+    private static final InetSocketAddress PEER_ADDRESS =
+        InetSocketAddress.createUnresolved("localhost", 53412);
+
+    @Override
+    public String getUrlScheme(Void request) {
+      return "https";
+    }
+
+    @Override
+    public String getUrlPath(Void request) {
+      return "/benchmark";
+    }
+
+    @Override
+    public String getUrlQuery(Void request) {
+      return "q=otel";
+    }
+
+    @Override
+    public String getHttpRoute(Void request) {
+      return "/benchmark";
+    }
+
+    @Override
+    public String getHttpRequestMethod(Void unused) {
+      return "GET";
+    }
+
+    @Override
+    public List<String> getHttpRequestHeader(Void unused, String name) {
+      if (name.equalsIgnoreCase("user-agent")) {
+        return Collections.singletonList("OpenTelemetryBot");
+      }
+      return Collections.emptyList();
+    }
+
+    @Override
+    public Integer getHttpResponseStatusCode(Void unused, Void unused2, @Nullable Throwable error) {
+      return 200;
+    }
+
+    @Override
+    public List<String> getHttpResponseHeader(Void unused, Void unused2, String name) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public String getNetworkProtocolName(Void unused, @Nullable Void unused2) {
+      return "http";
+    }
+
+    @Override
+    public String getNetworkProtocolVersion(Void unused, @Nullable Void unused2) {
+      return "1.1";
+    }
+
+    @Override
+    public InetSocketAddress getNetworkPeerInetSocketAddress(
+        Void request, @Nullable Void response) {
+      return PEER_ADDRESS;
+    }
+  }
+
+  enum EmptyGetter implements TextMapGetter<Void> {
+    INSTANCE;
+
+    @Override
+    public Iterable<String> keys(Void carrier) {
+      return Collections.emptyList();
+    }
+
+    @Nullable
+    @Override
+    public String get(@Nullable Void carrier, String key) {
+      return null;
+    }
+  }
 }
@@ -6,12 +6,17 @@
 package io.opentelemetry.instrumentation.api.instrumenter;
 
 import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.internal.ConstantAttributesProvider;
+import io.opentelemetry.instrumentation.api.internal.ExtractorPhasesProvider;
 import javax.annotation.Nullable;
 
 final class ConstantAttributesExtractor<REQUEST, RESPONSE, T>
-    implements AttributesExtractor<REQUEST, RESPONSE> {
+    implements AttributesExtractor<REQUEST, RESPONSE>,
+        ExtractorPhasesProvider,
+        ConstantAttributesProvider {
 
   private final AttributeKey<T> attributeKey;
   private final T attributeValue;
@@ -33,4 +38,19 @@ final class ConstantAttributesExtractor<REQUEST, RESPONSE, T>
       REQUEST request,
       @Nullable RESPONSE response,
       @Nullable Throwable error) {}
+
+  @Override
+  public Attributes internalGetConstantAttributes() {
+    return Attributes.of(attributeKey, attributeValue);
+  }
+
+  @Override
+  public boolean internalExtractsOnStart() {
+    return true;
+  }
+
+  @Override
+  public boolean internalExtractsOnEnd() {
+    return false;
+  }
 }
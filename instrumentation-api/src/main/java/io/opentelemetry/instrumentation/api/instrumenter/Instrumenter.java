@@ -6,16 +6,20 @@
 package io.opentelemetry.instrumentation.api.instrumenter;
 
 import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanBuilder;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.internal.HttpRouteState;
+import io.opentelemetry.instrumentation.api.internal.ExceptionRecordingPolicy;
 import io.opentelemetry.instrumentation.api.internal.InstrumenterAccess;
 import io.opentelemetry.instrumentation.api.internal.InstrumenterUtil;
 import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 
@@ -70,12 +74,22 @@ public class Instrumenter<REQUEST, RESPONSE> {
   private final SpanKindExtractor<? super REQUEST> spanKindExtractor;
   private final SpanStatusExtractor<? super REQUEST, ? super RESPONSE> spanStatusExtractor;
   private final SpanLinksExtractor<? super REQUEST>[] spanLinksExtractors;
-  private final AttributesExtractor<? super REQUEST, ? super RESPONSE>[] attributesExtractors;
+  // copied into the start attributes instead of calling the constant attributes extractors
+  @Nullable private final UnsafeAttributes.Template constantAttributes;
+  private final AttributesExtractor<? super REQUEST, ? super RESPONSE>[] startAttributesExtractors;
+  private final AttributesExtractor<? super REQUEST, ? super RESPONSE>[] endAttributesExtractors;
+  // only called when the span is recording
+  private final AttributesExtractor<? super REQUEST, ? super RESPONSE>[]
+      spanOnlyStartAttributesExtractors;
+  private final AttributesExtractor<? super REQUEST, ? super RESPONSE>[]
+      spanOnlyEndAttributesExtractors;
   private final ContextCustomizer<? super REQUEST>[] contextCustomizers;
   private final OperationListener[] operationListeners;
   private final ErrorCauseExtractor errorCauseExtractor;
+  private final ExceptionRecordingPolicy exceptionRecordingPolicy;
   private final boolean enabled;
   private final SpanSuppressor spanSuppressor;
+  @Nullable private final InstrumenterOverheadMetrics overheadMetrics;
 
   @SuppressWarnings({"rawtypes", "unchecked"})
   Instrumenter(InstrumenterBuilder<REQUEST, RESPONSE> builder) {
@@ -85,12 +99,24 @@ public class Instrumenter<REQUEST, RESPONSE> {
     this.spanKindExtractor = builder.spanKindExtractor;
     this.spanStatusExtractor = builder.spanStatusExtractor;
     this.spanLinksExtractors = builder.spanLinksExtractors.toArray(new SpanLinksExtractor[0]);
-    this.attributesExtractors = builder.attributesExtractors.toArray(new AttributesExtractor[0]);
+    this.constantAttributes = builder.buildConstantAttributes();
+    this.startAttributesExtractors =
+        builder.buildStartAttributesExtractors(false).toArray(new AttributesExtractor[0]);
+    this.endAttributesExtractors =
+        builder.buildEndAttributesExtractors(false).toArray(new AttributesExtractor[0]);
+    this.spanOnlyStartAttributesExtractors =
+        builder.buildStartAttributesExtractors(true).toArray(new AttributesExtractor[0]);
+    this.spanOnlyEndAttributesExtractors =
+        builder.buildEndAttributesExtractors(true).toArray(new AttributesExtractor[0]);
     this.contextCustomizers = builder.contextCustomizers.toArray(new ContextCustomizer[0]);
     this.operationListeners = builder.buildOperationListeners().toArray(new OperationListener[0]);
     this.errorCauseExtractor = builder.errorCauseExtractor;
+    this.exceptionRecordingPolicy = builder.exceptionRecordingPolicy;
     this.enabled = builder.enabled;
     this.spanSuppressor = builder.buildSpanSuppressor();
+    this.overheadMetrics =
+        InstrumenterOverheadMetrics.createIfEnabled(
+            builder.openTelemetry, builder.instrumentationName);
   }
 
   /**
@@ -157,7 +183,76 @@ public class Instrumenter<REQUEST, RESPONSE> {
     return context;
   }
 
+  /**
+   * Internal method for starting all the operations of a batch, each one with its own start
+   * timestamp. An operation is started only if {@link #shouldStart(Context, Object)} returns {@code
+   * true} for it; the returned list holds a {@code null} context in place of every operation that
+   * was not started. If starting an operation fails, the operations that were already started are
+   * ended before the exception is rethrown.
+   */
+  List<Context> startAll(
+      Context parentContext, List<? extends REQUEST> requests, List<Instant> startTimes) {
+    checkBatchSize(requests, startTimes, "start times");
+    List<Context> contexts = new ArrayList<>(requests.size());
+    try {
+      for (int i = 0; i < requests.size(); i++) {
+        REQUEST request = requests.get(i);
+        contexts.add(
+            shouldStart(parentContext, request)
+                ? doStart(parentContext, request, startTimes.get(i))
+                : null);
+      }
+    } catch (Throwable t) {
+      for (int i = 0; i < contexts.size(); i++) {
+        Context context = contexts.get(i);
+        if (context != null) {
+          doEnd(context, requests.get(i), null, null, null);
+        }
+      }
+      throw t;
+    }
+    return contexts;
+  }
+
+  /**
+   * Internal method for ending all the operations of a batch started with {@link
+   * #startAll(Context, List, List)}, each one with its own end timestamp. The operations that were
+   * not started are skipped.
+   */
+  void endAll(
+      List<Context> contexts,
+      List<? extends REQUEST> requests,
+      @Nullable RESPONSE response,
+      @Nullable Throwable error,
+      List<Instant> endTimes) {
+    checkBatchSize(requests, contexts, "contexts");
+    checkBatchSize(requests, endTimes, "end times");
+    for (int i = 0; i < contexts.size(); i++) {
+      Context context = contexts.get(i);
+      if (context != null) {
+        doEnd(context, requests.get(i), response, error, endTimes.get(i));
+      }
+    }
+  }
+
+  private static void checkBatchSize(List<?> requests, List<?> values, String name) {
+    if (requests.size() != values.size()) {
+      throw new IllegalArgumentException(
+          "Expected as many "
+              + name
+              + " as requests, got "
+              + values.size()
+              + " "
+              + name
+              + " and "
+              + requests.size()
+              + " requests");
+    }
+  }
+
   private Context doStart(Context parentContext, REQUEST request, @Nullable Instant startTime) {
+    long overheadStartNanos = overheadMetrics != null ? System.nanoTime() : 0;
+
     SpanKind spanKind = spanKindExtractor.extract(request);
     SpanBuilder spanBuilder =
         tracer.spanBuilder(spanNameExtractor.extract(request)).setSpanKind(spanKind);
@@ -166,15 +261,23 @@ public class Instrumenter<REQUEST, RESPONSE> {
       spanBuilder.setStartTimestamp(startTime);
     }
 
-    SpanLinksBuilder spanLinksBuilder = new SpanLinksBuilderImpl(spanBuilder);
-    for (SpanLinksExtractor<? super REQUEST> spanLinksExtractor : spanLinksExtractors) {
-      spanLinksExtractor.extract(spanLinksBuilder, parentContext, request);
+    if (spanLinksExtractors.length != 0) {
+      SpanLinksBuilder spanLinksBuilder = new SpanLinksBuilderImpl(spanBuilder);
+      for (SpanLinksExtractor<? super REQUEST> spanLinksExtractor : spanLinksExtractors) {
+        spanLinksExtractor.extract(spanLinksBuilder, parentContext, request);
+      }
     }
 
-    UnsafeAttributes attributes = new UnsafeAttributes();
-    for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor : attributesExtractors) {
-      extractor.onStart(attributes, parentContext, request);
+    UnsafeAttributes attributes =
+        constantAttributes == null
+            ? new UnsafeAttributes()
+            : new UnsafeAttributes(constantAttributes);
+    for (int i = 0; i < startAttributesExtractors.length; i++) {
+      attributes.setExtractorIndex(i);
+      startAttributesExtractors[i].onStart(attributes, parentContext, request);
     }
+    // attributes added after the extractors always overwrite the constants
+    attributes.setExtractorIndex(Integer.MAX_VALUE);
 
     Context context = parentContext;
 
@@ -190,6 +293,17 @@ public class Instrumenter<REQUEST, RESPONSE> {
     Span span = spanBuilder.setParent(context).startSpan();
     context = context.with(span);
 
+    // span only attributes are not visible to the sampler, and are not computed at all for spans
+    // that were not sampled
+    if (spanOnlyStartAttributesExtractors.length != 0 && span.isRecording()) {
+      UnsafeAttributes spanOnlyAttributes = new UnsafeAttributes();
+      for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor :
+          spanOnlyStartAttributesExtractors) {
+        extractor.onStart(spanOnlyAttributes, parentContext, request);
+      }
+      span.setAllAttributes(spanOnlyAttributes);
+    }
+
     if (operationListeners.length != 0) {
       // operation listeners run after span start, so that they have access to the current span
       // for capturing exemplars
@@ -206,7 +320,12 @@ public class Instrumenter<REQUEST, RESPONSE> {
       }
     }
 
-    return spanSuppressor.storeInContext(context, spanKind, span);
+    context = spanSuppressor.storeInContext(context, spanKind, span);
+
+    if (overheadMetrics != null) {
+      overheadMetrics.recordStart(overheadStartNanos);
+    }
+    return context;
   }
 
   private void doEnd(
@@ -215,18 +334,36 @@ public class Instrumenter<REQUEST, RESPONSE> {
       @Nullable RESPONSE response,
       @Nullable Throwable error,
       @Nullable Instant endTime) {
+    long overheadStartNanos = overheadMetrics != null ? System.nanoTime() : 0;
+
     Span span = Span.fromContext(context);
 
     if (error != null) {
       error = errorCauseExtractor.extract(error);
-      span.recordException(error);
+      exceptionRecordingPolicy.record(span, error);
     }
 
-    UnsafeAttributes attributes = new UnsafeAttributes();
-    for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor : attributesExtractors) {
-      extractor.onEnd(attributes, context, request, response, error);
+    Attributes attributes;
+    if (endAttributesExtractors.length != 0) {
+      UnsafeAttributes endAttributes = new UnsafeAttributes();
+      for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor :
+          endAttributesExtractors) {
+        extractor.onEnd(endAttributes, context, request, response, error);
+      }
+      span.setAllAttributes(endAttributes);
+      attributes = endAttributes;
+    } else {
+      attributes = Attributes.empty();
+    }
+
+    if (spanOnlyEndAttributesExtractors.length != 0 && span.isRecording()) {
+      UnsafeAttributes spanOnlyAttributes = new UnsafeAttributes();
+      for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor :
+          spanOnlyEndAttributesExtractors) {
+        extractor.onEnd(spanOnlyAttributes, context, request, response, error);
+      }
+      span.setAllAttributes(spanOnlyAttributes);
     }
-    span.setAllAttributes(attributes);
 
     if (operationListeners.length != 0) {
       long endNanos = getNanos(endTime);
@@ -243,6 +380,10 @@ public class Instrumenter<REQUEST, RESPONSE> {
     } else {
       span.end();
     }
+
+    if (overheadMetrics != null) {
+      overheadMetrics.recordEnd(overheadStartNanos);
+    }
   }
 
   private static long getNanos(@Nullable Instant time) {
@@ -268,6 +409,26 @@ public class Instrumenter<REQUEST, RESPONSE> {
                 parentContext, request, response, error, startTime, endTime);
           }
 
+          @Override
+          public <RQ, RS> List<Context> startAll(
+              Instrumenter<RQ, RS> instrumenter,
+              Context parentContext,
+              List<? extends RQ> requests,
+              List<Instant> startTimes) {
+            return instrumenter.startAll(parentContext, requests, startTimes);
+          }
+
+          @Override
+          public <RQ, RS> void endAll(
+              Instrumenter<RQ, RS> instrumenter,
+              List<Context> contexts,
+              List<? extends RQ> requests,
+              @Nullable RS response,
+              @Nullable Throwable error,
+              List<Instant> endTimes) {
+            instrumenter.endAll(contexts, requests, response, error, endTimes);
+          }
+
           @Override
           public <REQUEST, RESPONSE> Context suppressSpan(
               Instrumenter<REQUEST, RESPONSE> instrumenter,
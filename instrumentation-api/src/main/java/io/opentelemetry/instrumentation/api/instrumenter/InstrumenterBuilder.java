@@ -10,6 +10,8 @@ import static java.util.logging.Level.WARNING;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.MeterBuilder;
 import io.opentelemetry.api.trace.SpanKind;
@@ -20,15 +22,24 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.context.propagation.TextMapGetter;
 import io.opentelemetry.context.propagation.TextMapSetter;
 import io.opentelemetry.instrumentation.api.internal.ConfigPropertiesUtil;
+import io.opentelemetry.instrumentation.api.internal.ConstantAttributesProvider;
 import io.opentelemetry.instrumentation.api.internal.EmbeddedInstrumentationProperties;
+import io.opentelemetry.instrumentation.api.internal.ExceptionRecordingPolicy;
+import io.opentelemetry.instrumentation.api.internal.ExceptionRecordingPolicyBuilder;
+import io.opentelemetry.instrumentation.api.internal.ExtractorPhasesProvider;
 import io.opentelemetry.instrumentation.api.internal.InstrumenterBuilderAccess;
 import io.opentelemetry.instrumentation.api.internal.InstrumenterUtil;
 import io.opentelemetry.instrumentation.api.internal.SchemaUrlProvider;
 import io.opentelemetry.instrumentation.api.internal.SpanKey;
 import io.opentelemetry.instrumentation.api.internal.SpanKeyProvider;
+import io.opentelemetry.instrumentation.api.internal.SpanOnlyAttributesProvider;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -49,6 +60,13 @@ public final class InstrumenterBuilder<REQUEST, RESPONSE> {
           ConfigPropertiesUtil.getString(
               "otel.instrumentation.experimental.span-suppression-strategy"));
 
+  private static final boolean defaultSkipUnsampledSpanAttributes =
+      ConfigPropertiesUtil.getBoolean(
+          "otel.instrumentation.experimental.skip-unsampled-span-attributes", false);
+
+  private static final ExceptionRecordingPolicy defaultExceptionRecordingPolicy =
+      exceptionRecordingPolicyFromConfig();
+
   final OpenTelemetry openTelemetry;
   final String instrumentationName;
   final SpanNameExtractor<? super REQUEST> spanNameExtractor;
@@ -66,7 +84,9 @@ public final class InstrumenterBuilder<REQUEST, RESPONSE> {
   SpanStatusExtractor<? super REQUEST, ? super RESPONSE> spanStatusExtractor =
       SpanStatusExtractor.getDefault();
   ErrorCauseExtractor errorCauseExtractor = ErrorCauseExtractor.getDefault();
+  ExceptionRecordingPolicy exceptionRecordingPolicy = defaultExceptionRecordingPolicy;
   boolean enabled = true;
+  private boolean skipUnsampledSpanAttributes = defaultSkipUnsampledSpanAttributes;
 
   InstrumenterBuilder(
       OpenTelemetry openTelemetry,
@@ -192,6 +212,15 @@ public final class InstrumenterBuilder<REQUEST, RESPONSE> {
     return this;
   }
 
+  // visible for testing, the default is set by the
+  // otel.instrumentation.experimental.skip-unsampled-span-attributes option
+  @CanIgnoreReturnValue
+  InstrumenterBuilder<REQUEST, RESPONSE> setSkipUnsampledSpanAttributes(
+      boolean skipUnsampledSpanAttributes) {
+    this.skipUnsampledSpanAttributes = skipUnsampledSpanAttributes;
+    return this;
+  }
+
   /**
    * Returns a new {@link Instrumenter} which will create {@linkplain SpanKind#CLIENT client} spans
    * and inject context into requests with the passed {@link TextMapSetter}.
@@ -297,6 +326,98 @@ public final class InstrumenterBuilder<REQUEST, RESPONSE> {
     return tracerBuilder.build();
   }
 
+  List<AttributesExtractor<? super REQUEST, ? super RESPONSE>> buildStartAttributesExtractors(
+      boolean spanOnly) {
+    // skip the extractors that declare their onStart() method as a no-op, and the constant ones
+    // whose attributes are copied from the template built by buildConstantAttributes()
+    return buildAttributesExtractors(ExtractorPhasesProvider::internalExtractsOnStart, spanOnly)
+        .stream()
+        .filter(extractor -> !isConstant(extractor))
+        .collect(Collectors.toList());
+  }
+
+  @Nullable
+  UnsafeAttributes.Template buildConstantAttributes() {
+    UnsafeAttributes attributes = new UnsafeAttributes();
+    Map<AttributeKey<?>, Integer> extractorIndexes = new HashMap<>();
+    // the index that the next non-constant start extractor will have in the instrumenter
+    int extractorIndex = 0;
+    for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor : attributesExtractors) {
+      if (isConstant(extractor)) {
+        Attributes constants =
+            ((ConstantAttributesProvider) extractor).internalGetConstantAttributes();
+        int index = extractorIndex;
+        constants.forEach((key, value) -> extractorIndexes.put(key, index));
+        attributes.putAll(constants);
+      } else if (!isSpanOnly(extractor)
+          && (!(extractor instanceof ExtractorPhasesProvider)
+              || ((ExtractorPhasesProvider) extractor).internalExtractsOnStart())) {
+        extractorIndex++;
+      }
+    }
+    if (attributes.isEmpty()) {
+      return null;
+    }
+    return new UnsafeAttributes.Template(attributes, extractorIndexes);
+  }
+
+  List<AttributesExtractor<? super REQUEST, ? super RESPONSE>> buildEndAttributesExtractors(
+      boolean spanOnly) {
+    // skip the extractors that declare their onEnd() method as a no-op
+    return buildAttributesExtractors(ExtractorPhasesProvider::internalExtractsOnEnd, spanOnly);
+  }
+
+  private List<AttributesExtractor<? super REQUEST, ? super RESPONSE>> buildAttributesExtractors(
+      Predicate<ExtractorPhasesProvider> extractsInPhase, boolean spanOnly) {
+    return attributesExtractors.stream()
+        .filter(
+            extractor ->
+                !(extractor instanceof ExtractorPhasesProvider)
+                    || extractsInPhase.test((ExtractorPhasesProvider) extractor))
+        .filter(extractor -> isSpanOnly(extractor) == spanOnly)
+        .collect(Collectors.toList());
+  }
+
+  private boolean isConstant(AttributesExtractor<?, ?> extractor) {
+    return extractor instanceof ConstantAttributesProvider && !isSpanOnly(extractor);
+  }
+
+  // negative values, which are the defaults, mean no limit; the policy is shared by all
+  // instrumenters, so that the limits apply to the whole application
+  private static ExceptionRecordingPolicy exceptionRecordingPolicyFromConfig() {
+    int maxStackDepth =
+        ConfigPropertiesUtil.getInt(
+            "otel.instrumentation.experimental.exception-recording.max-stack-depth", -1);
+    int stackTracesPerSecond =
+        ConfigPropertiesUtil.getInt(
+            "otel.instrumentation.experimental.exception-recording.stack-traces-per-second", -1);
+    int dedupWindowMillis =
+        ConfigPropertiesUtil.getInt(
+            "otel.instrumentation.experimental.exception-recording.dedup-window-millis", -1);
+    if (maxStackDepth < 0 && stackTracesPerSecond < 0 && dedupWindowMillis <= 0) {
+      return ExceptionRecordingPolicy.getDefault();
+    }
+
+    ExceptionRecordingPolicyBuilder builder = ExceptionRecordingPolicy.builder();
+    if (maxStackDepth >= 0) {
+      builder.setMaxStackTraceDepth(maxStackDepth);
+    }
+    if (stackTracesPerSecond >= 0) {
+      builder.setMaxStackTracesPerSecond(stackTracesPerSecond);
+    }
+    if (dedupWindowMillis > 0) {
+      builder.setDeduplicationWindow(Duration.ofMillis(dedupWindowMillis));
+    }
+    return builder.build();
+  }
+
+  private boolean isSpanOnly(AttributesExtractor<?, ?> extractor) {
+    // span only attributes are extracted together with all the others unless explicitly enabled
+    return skipUnsampledSpanAttributes
+        && extractor instanceof SpanOnlyAttributesProvider
+        && ((SpanOnlyAttributesProvider) extractor).internalExtractsSpanOnlyAttributes();
+  }
+
   List<OperationListener> buildOperationListeners() {
     // just copy the listeners list if there are no metrics registered
     if (operationMetrics.isEmpty()) {
@@ -406,6 +527,12 @@ public final class InstrumenterBuilder<REQUEST, RESPONSE> {
               SpanKindExtractor<RQ> spanKindExtractor) {
             return builder.buildDownstreamInstrumenter(setter, spanKindExtractor);
           }
+
+          @Override
+          public void setExceptionRecordingPolicy(
+              InstrumenterBuilder<?, ?> builder, ExceptionRecordingPolicy policy) {
+            builder.exceptionRecordingPolicy = requireNonNull(policy, "exceptionRecordingPolicy");
+          }
         });
   }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static java.util.Arrays.asList;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.instrumentation.api.internal.ConfigPropertiesUtil;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Records the time an {@link Instrumenter} spends starting and ending operations, i.e. running its
+ * extractors, context customizers and operation listeners and starting and ending the span, as a
+ * histogram with the instrumentation name as a dimension. This helps finding which instrumentation
+ * to disable when the overhead of the agent increases.
+ *
+ * <p>Only enabled when the {@code otel.instrumentation.experimental.overhead-metrics.enabled}
+ * option is set; the attributes of both phases are built once per instrumenter, so recording a
+ * measurement only reads the clock and updates the histogram.
+ */
+final class InstrumenterOverheadMetrics {
+
+  private static final boolean ENABLED =
+      ConfigPropertiesUtil.getBoolean(
+          "otel.instrumentation.experimental.overhead-metrics.enabled", false);
+
+  private static final String INSTRUMENTATION_NAME = "io.opentelemetry.instrumentation-api";
+  private static final double NANOS_PER_S = 1_000_000_000.0;
+  private static final List<Double> DURATION_SECONDS_BUCKETS =
+      asList(
+          0.000_001, 0.000_002_5, 0.000_005, 0.000_01, 0.000_025, 0.000_05, 0.000_1, 0.000_25,
+          0.000_5, 0.001, 0.002_5, 0.005, 0.01);
+
+  // Visible for testing
+  static final AttributeKey<String> INSTRUMENTATION_NAME_KEY =
+      stringKey("otel.instrumentation.name");
+  static final AttributeKey<String> PHASE_KEY = stringKey("otel.instrumentation.phase");
+
+  @Nullable
+  static InstrumenterOverheadMetrics createIfEnabled(
+      OpenTelemetry openTelemetry, String instrumentationName) {
+    return ENABLED ? new InstrumenterOverheadMetrics(openTelemetry, instrumentationName) : null;
+  }
+
+  private final DoubleHistogram duration;
+  private final Attributes startAttributes;
+  private final Attributes endAttributes;
+
+  // Visible for testing
+  InstrumenterOverheadMetrics(OpenTelemetry openTelemetry, String instrumentationName) {
+    duration =
+        openTelemetry
+            .getMeterProvider()
+            .meterBuilder(INSTRUMENTATION_NAME)
+            .build()
+            .histogramBuilder("otel.instrumentation.overhead.duration")
+            .setUnit("s")
+            .setDescription("Time spent by the instrumentation starting and ending operations.")
+            .setExplicitBucketBoundariesAdvice(DURATION_SECONDS_BUCKETS)
+            .build();
+    startAttributes =
+        Attributes.of(INSTRUMENTATION_NAME_KEY, instrumentationName, PHASE_KEY, "start");
+    endAttributes = Attributes.of(INSTRUMENTATION_NAME_KEY, instrumentationName, PHASE_KEY, "end");
+  }
+
+  void recordStart(long startNanos) {
+    duration.record((System.nanoTime() - startNanos) / NANOS_PER_S, startAttributes);
+  }
+
+  void recordEnd(long startNanos) {
+    duration.record((System.nanoTime() - startNanos) / NANOS_PER_S, endAttributes);
+  }
+}
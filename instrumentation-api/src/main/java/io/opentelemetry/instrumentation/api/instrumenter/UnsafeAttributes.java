@@ -12,6 +12,7 @@ import io.opentelemetry.api.common.AttributesBuilder;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
 
 /**
  * The {@link AttributesBuilder} and {@link Attributes} used by the instrumentation API. We are able
@@ -19,23 +20,85 @@ import java.util.function.BiConsumer;
  * multiple Attributes instances. So we use just one storage for both the builder and attributes. A
  * couple of methods still require copying to satisfy the interface contracts, but in practice
  * should never be called by user code even though they can.
+ *
+ * <p>Entries are kept in a single open-addressing table (keys on even indexes, values on the
+ * following odd indexes), so collecting attributes does not allocate a node object per entry the
+ * way a {@link HashMap} would. Instances can't be pooled: operation listeners are allowed to keep a
+ * reference to the attributes past the end of the {@link Instrumenter} call.
+ *
+ * <p>Instances can be created from a {@link Template} of constant attributes, which copies the
+ * template table as is instead of re-inserting its entries one by one.
  */
-final class UnsafeAttributes extends HashMap<AttributeKey<?>, Object>
-    implements Attributes, AttributesBuilder {
+final class UnsafeAttributes implements Attributes, AttributesBuilder {
 
-  private static final long serialVersionUID = 1L;
+  // up to 16 entries fit without resizing, which covers the attributes produced by a typical HTTP
+  // or database instrumenter
+  private static final int INITIAL_CAPACITY = 32;
+
+  private Object[] table;
+  private int size;
+  @Nullable private final Template template;
+  // the index of the extractor that is currently adding attributes, see Template
+  private int extractorIndex = Integer.MAX_VALUE;
+
+  UnsafeAttributes() {
+    table = new Object[INITIAL_CAPACITY * 2];
+    template = null;
+  }
+
+  UnsafeAttributes(Template template) {
+    table = template.table.clone();
+    size = template.size;
+    this.template = template;
+  }
+
+  /**
+   * Sets the index of the extractor that adds the next attributes, used to resolve conflicts with
+   * the attributes of the template.
+   */
+  void setExtractorIndex(int extractorIndex) {
+    this.extractorIndex = extractorIndex;
+  }
 
   // Attributes
 
   @SuppressWarnings("unchecked")
   @Override
+  @Nullable
   public <T> T get(AttributeKey<T> key) {
-    return (T) super.get(key);
+    if (key == null) {
+      return null;
+    }
+    Object[] table = this.table;
+    int mask = table.length - 1;
+    for (int i = indexFor(key, mask); ; i = (i + 2) & mask) {
+      Object candidate = table[i];
+      if (candidate == null) {
+        return null;
+      }
+      if (candidate == key || candidate.equals(key)) {
+        return (T) table[i + 1];
+      }
+    }
   }
 
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  // This can be called by user code in a RequestListener so copy. In practice, it should not be
+  // called as there is no real use case.
   @Override
   public Map<AttributeKey<?>, Object> asMap() {
-    return this;
+    Map<AttributeKey<?>, Object> map = new HashMap<>();
+    forEach(map::put);
+    return map;
   }
 
   // This can be called by user code in a RequestListener so copy. In practice, it should not be
@@ -45,6 +108,17 @@ final class UnsafeAttributes extends HashMap<AttributeKey<?>, Object>
     return Attributes.builder().putAll(this);
   }
 
+  @Override
+  public void forEach(BiConsumer<? super AttributeKey<?>, ? super Object> action) {
+    Object[] table = this.table;
+    for (int i = 0; i < table.length; i += 2) {
+      Object key = table[i];
+      if (key != null) {
+        action.accept((AttributeKey<?>) key, table[i + 1]);
+      }
+    }
+  }
+
   // AttributesBuilder
 
   // This can be called by user code in an AttributesExtractor so copy. In practice, it should not
@@ -63,22 +137,113 @@ final class UnsafeAttributes extends HashMap<AttributeKey<?>, Object>
   @Override
   @CanIgnoreReturnValue
   public <T> AttributesBuilder put(AttributeKey<T> key, T value) {
-    super.put(key, value);
+    if (key == null) {
+      return this;
+    }
+    Object[] table = this.table;
+    int mask = table.length - 1;
+    int i = indexFor(key, mask);
+    while (true) {
+      Object candidate = table[i];
+      if (candidate == null) {
+        break;
+      }
+      if (candidate == key || candidate.equals(key)) {
+        if (template == null || template.canOverwrite(key, extractorIndex)) {
+          table[i + 1] = value;
+        }
+        return this;
+      }
+      i = (i + 2) & mask;
+    }
+    table[i] = key;
+    table[i + 1] = value;
+    // keep the load factor at or below 1/2 so that probe sequences stay short
+    if (++size * 4 > table.length) {
+      resize();
+    }
     return this;
   }
 
   @Override
   @CanIgnoreReturnValue
   public AttributesBuilder putAll(Attributes attributes) {
-    attributes.forEach(this::put);
+    attributes.forEach(this::putUnchecked);
     return this;
   }
 
   @Override
-  public void forEach(BiConsumer<? super AttributeKey<?>, ? super Object> action) {
-    // https://github.com/open-telemetry/opentelemetry-java/issues/4161
-    // Help out android desugaring by having an explicit call to HashMap.forEach, when forEach is
-    // just called through Attributes.forEach desugaring is unable to correctly handle it.
-    super.forEach(action);
+  public String toString() {
+    return "UnsafeAttributes" + asMap();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void putUnchecked(AttributeKey<?> key, Object value) {
+    put((AttributeKey<Object>) key, value);
+  }
+
+  private void resize() {
+    Object[] oldTable = table;
+    Object[] newTable = new Object[oldTable.length * 2];
+    int mask = newTable.length - 1;
+    for (int j = 0; j < oldTable.length; j += 2) {
+      Object key = oldTable[j];
+      if (key != null) {
+        int i = indexFor(key, mask);
+        while (newTable[i] != null) {
+          i = (i + 2) & mask;
+        }
+        newTable[i] = key;
+        newTable[i + 1] = oldTable[j + 1];
+      }
+    }
+    table = newTable;
+  }
+
+  // returns the (even) index of the key slot in a table of size mask + 1
+  private static int indexFor(Object key, int mask) {
+    int h = key.hashCode();
+    // spread the high bits, same as HashMap does
+    h ^= h >>> 16;
+    return (h << 1) & mask;
+  }
+
+  /**
+   * Immutable constant attributes, together with the index of the extractor that each of them
+   * would have been added before if it was not constant. An extractor that precedes the constant
+   * can't overwrite it, an extractor that follows it can; the result is the same as if all
+   * extractors were called in order.
+   */
+  static final class Template {
+
+    private final Object[] table;
+    private final int size;
+    // indexed by key slot / 2
+    private final int[] extractorIndexes;
+
+    Template(UnsafeAttributes attributes, Map<AttributeKey<?>, Integer> extractorIndexes) {
+      table = attributes.table.clone();
+      size = attributes.size;
+      this.extractorIndexes = new int[table.length / 2];
+      for (int i = 0; i < table.length; i += 2) {
+        Object key = table[i];
+        if (key != null) {
+          this.extractorIndexes[i / 2] = extractorIndexes.get(key);
+        }
+      }
+    }
+
+    boolean canOverwrite(AttributeKey<?> key, int extractorIndex) {
+      int mask = table.length - 1;
+      for (int i = indexFor(key, mask); ; i = (i + 2) & mask) {
+        Object candidate = table[i];
+        if (candidate == null) {
+          return true;
+        }
+        if (candidate == key || candidate.equals(key)) {
+          return extractorIndex >= extractorIndexes[i / 2];
+        }
+      }
+    }
   }
 }
@@ -0,0 +1,23 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+
+/**
+ * Exposes the attributes that the {@code onStart()} method of the {@link AttributesExtractor} that
+ * implements this interface adds, which must be the same for every request. Such extractors are not
+ * called on start at all; their attributes are collected once when the instrumenter is built and
+ * copied into the start attributes of every operation.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public interface ConstantAttributesProvider {
+
+  Attributes internalGetConstantAttributes();
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Controls how the errors of failed operations are recorded as exception events on their spans.
+ *
+ * <p>Formatting the stack trace of an exception is by far the most expensive part of recording it.
+ * The {@linkplain #getDefault() default} policy records every exception with its full stack trace,
+ * a policy created with {@link #builder()} can limit the number of frames per exception, the rate
+ * of stack traces per exception type, and skip the stack traces that were already recorded
+ * recently. Exceptions whose stack trace is left out are still recorded with their type and
+ * message.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class ExceptionRecordingPolicy {
+
+  private static final AttributeKey<String> EXCEPTION_TYPE = stringKey("exception.type");
+  private static final AttributeKey<String> EXCEPTION_MESSAGE = stringKey("exception.message");
+  private static final AttributeKey<String> EXCEPTION_STACKTRACE =
+      stringKey("exception.stacktrace");
+
+  private static final long RATE_LIMIT_PERIOD_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final int DEDUPLICATION_CACHE_SIZE = 1024;
+
+  private static final ExceptionRecordingPolicy DEFAULT =
+      new ExceptionRecordingPolicy(Integer.MAX_VALUE, Integer.MAX_VALUE, 0, System::nanoTime);
+
+  /** Returns the default policy, which records all exceptions with their full stack trace. */
+  public static ExceptionRecordingPolicy getDefault() {
+    return DEFAULT;
+  }
+
+  /** Returns a new {@link ExceptionRecordingPolicyBuilder}. */
+  public static ExceptionRecordingPolicyBuilder builder() {
+    return new ExceptionRecordingPolicyBuilder();
+  }
+
+  private final int maxStackTraceDepth;
+  private final int stackTracesPerSecond;
+  private final long deduplicationWindowNanos;
+  private final LongSupplier nanoClock;
+  private final boolean unlimited;
+  private final Cache<Class<?>, RateLimiter> rateLimiters = Cache.weak();
+  private final Cache<Long, Long> recentStackTraces = Cache.bounded(DEDUPLICATION_CACHE_SIZE);
+
+  ExceptionRecordingPolicy(
+      int maxStackTraceDepth,
+      int stackTracesPerSecond,
+      long deduplicationWindowNanos,
+      LongSupplier nanoClock) {
+    this.maxStackTraceDepth = maxStackTraceDepth;
+    this.stackTracesPerSecond = stackTracesPerSecond;
+    this.deduplicationWindowNanos = deduplicationWindowNanos;
+    this.nanoClock = nanoClock;
+    unlimited =
+        maxStackTraceDepth == Integer.MAX_VALUE
+            && stackTracesPerSecond == Integer.MAX_VALUE
+            && deduplicationWindowNanos == 0;
+  }
+
+  public void record(Span span, Throwable error) {
+    if (unlimited) {
+      span.recordException(error);
+      return;
+    }
+    if (!span.isRecording()) {
+      return;
+    }
+
+    AttributesBuilder attributes = Attributes.builder();
+    attributes.put(EXCEPTION_TYPE, error.getClass().getName());
+    String message = error.getMessage();
+    if (message != null) {
+      attributes.put(EXCEPTION_MESSAGE, message);
+    }
+    if (shouldRecordStackTrace(error)) {
+      attributes.put(EXCEPTION_STACKTRACE, formatStackTrace(error));
+    }
+    span.addEvent("exception", attributes.build());
+  }
+
+  private boolean shouldRecordStackTrace(Throwable error) {
+    long now = nanoClock.getAsLong();
+    Long fingerprint = null;
+    if (deduplicationWindowNanos > 0) {
+      fingerprint = fingerprint(error);
+      Long recordedAt = recentStackTraces.get(fingerprint);
+      if (recordedAt != null && now - recordedAt < deduplicationWindowNanos) {
+        return false;
+      }
+    }
+    if (stackTracesPerSecond != Integer.MAX_VALUE
+        && !rateLimiters
+            .computeIfAbsent(error.getClass(), type -> new RateLimiter(stackTracesPerSecond))
+            .tryAcquire(now)) {
+      return false;
+    }
+    if (fingerprint != null) {
+      recentStackTraces.put(fingerprint, now);
+    }
+    return true;
+  }
+
+  // hashes the types and stack frames of the exception and all its causes
+  private static long fingerprint(Throwable error) {
+    long hash = 1;
+    Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Throwable t = error; t != null && seen.add(t); t = t.getCause()) {
+      hash = 31 * hash + t.getClass().getName().hashCode();
+      for (StackTraceElement element : t.getStackTrace()) {
+        hash = 31 * hash + element.hashCode();
+      }
+    }
+    return hash;
+  }
+
+  private String formatStackTrace(Throwable error) {
+    if (maxStackTraceDepth == Integer.MAX_VALUE) {
+      // same as Span.recordException()
+      StringWriter writer = new StringWriter();
+      try (PrintWriter printWriter = new PrintWriter(writer)) {
+        error.printStackTrace(printWriter);
+      }
+      return writer.toString();
+    }
+
+    StringBuilder stackTrace = new StringBuilder();
+    Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    appendStackTrace(stackTrace, error, new StackTraceElement[0], "", "", seen);
+    return stackTrace.toString();
+  }
+
+  // same format as Throwable.printStackTrace(), including the suppressed exceptions and the frames
+  // in common with the enclosing trace, except that at most maxStackTraceDepth frames of each
+  // exception are printed: the ones left out are counted in the "... n more" line
+  private void appendStackTrace(
+      StringBuilder stackTrace,
+      Throwable error,
+      StackTraceElement[] enclosingTrace,
+      String caption,
+      String prefix,
+      Set<Throwable> seen) {
+    if (!seen.add(error)) {
+      stackTrace.append(prefix).append(caption).append("[CIRCULAR REFERENCE: ").append(error);
+      stackTrace.append(']').append(System.lineSeparator());
+      return;
+    }
+
+    StackTraceElement[] trace = error.getStackTrace();
+    int unique = trace.length;
+    int enclosing = enclosingTrace.length;
+    while (unique > 0 && enclosing > 0 && trace[unique - 1].equals(enclosingTrace[enclosing - 1])) {
+      unique--;
+      enclosing--;
+    }
+
+    stackTrace.append(prefix).append(caption).append(error).append(System.lineSeparator());
+    int depth = Math.min(unique, maxStackTraceDepth);
+    for (int i = 0; i < depth; i++) {
+      stackTrace.append(prefix).append("\tat ").append(trace[i]).append(System.lineSeparator());
+    }
+    int omitted = trace.length - depth;
+    if (omitted != 0) {
+      stackTrace.append(prefix).append("\t... ").append(omitted).append(" more");
+      stackTrace.append(System.lineSeparator());
+    }
+
+    for (Throwable suppressed : error.getSuppressed()) {
+      appendStackTrace(stackTrace, suppressed, trace, "Suppressed: ", prefix + "\t", seen);
+    }
+    Throwable cause = error.getCause();
+    if (cause != null) {
+      appendStackTrace(stackTrace, cause, trace, "Caused by: ", prefix, seen);
+    }
+  }
+
+  // allows a fixed number of stack traces in every period of one second
+  private static final class RateLimiter {
+    private final int permitsPerPeriod;
+    private final AtomicLong periodStart = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicInteger permitsUsed = new AtomicInteger();
+
+    RateLimiter(int permitsPerPeriod) {
+      this.permitsPerPeriod = permitsPerPeriod;
+    }
+
+    boolean tryAcquire(long now) {
+      long start = periodStart.get();
+      if ((start == Long.MIN_VALUE || now - start >= RATE_LIMIT_PERIOD_NANOS)
+          && periodStart.compareAndSet(start, now)) {
+        permitsUsed.set(0);
+      }
+      return permitsUsed.incrementAndGet() <= permitsPerPeriod;
+    }
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.time.Duration;
+
+/**
+ * A builder of {@link ExceptionRecordingPolicy}.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class ExceptionRecordingPolicyBuilder {
+
+  private int maxStackTraceDepth = Integer.MAX_VALUE;
+  private int stackTracesPerSecond = Integer.MAX_VALUE;
+  private Duration deduplicationWindow = Duration.ZERO;
+
+  ExceptionRecordingPolicyBuilder() {}
+
+  /**
+   * Sets the maximum number of stack frames recorded for the exception and each of its causes and
+   * suppressed exceptions. The remaining frames are summarized as {@code ... n more}. By default,
+   * all frames are recorded.
+   */
+  @CanIgnoreReturnValue
+  public ExceptionRecordingPolicyBuilder setMaxStackTraceDepth(int maxStackTraceDepth) {
+    if (maxStackTraceDepth < 0) {
+      throw new IllegalArgumentException(
+          "maxStackTraceDepth must not be negative: " + maxStackTraceDepth);
+    }
+    this.maxStackTraceDepth = maxStackTraceDepth;
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of stack traces recorded per second for each exception type. Exceptions
+   * over the limit are recorded without their stack trace. By default, there is no limit.
+   */
+  @CanIgnoreReturnValue
+  public ExceptionRecordingPolicyBuilder setMaxStackTracesPerSecond(int stackTracesPerSecond) {
+    if (stackTracesPerSecond < 0) {
+      throw new IllegalArgumentException(
+          "stackTracesPerSecond must not be negative: " + stackTracesPerSecond);
+    }
+    this.stackTracesPerSecond = stackTracesPerSecond;
+    return this;
+  }
+
+  /**
+   * Sets the time window in which an identical stack trace, i.e. the same exception types thrown
+   * from the same stack frames, is recorded only once. Exceptions with a stack trace that was
+   * already recorded within the window are recorded without it. Only a bounded number of recent
+   * stack traces is remembered. By default, stack traces are not deduplicated.
+   */
+  @CanIgnoreReturnValue
+  public ExceptionRecordingPolicyBuilder setDeduplicationWindow(Duration deduplicationWindow) {
+    requireNonNull(deduplicationWindow, "deduplicationWindow");
+    if (deduplicationWindow.isNegative()) {
+      throw new IllegalArgumentException(
+          "deduplicationWindow must not be negative: " + deduplicationWindow);
+    }
+    this.deduplicationWindow = deduplicationWindow;
+    return this;
+  }
+
+  /** Returns a new {@link ExceptionRecordingPolicy} with the settings of this builder. */
+  public ExceptionRecordingPolicy build() {
+    return new ExceptionRecordingPolicy(
+        maxStackTraceDepth, stackTracesPerSecond, deduplicationWindow.toNanos(), System::nanoTime);
+  }
+}
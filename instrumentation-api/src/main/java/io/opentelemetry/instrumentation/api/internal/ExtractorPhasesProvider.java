@@ -0,0 +1,25 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+
+/**
+ * Tells which lifecycle phases the {@link AttributesExtractor} that implements this interface
+ * extracts attributes in. Extractors that don't do anything in a phase are not called in that phase
+ * at all.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public interface ExtractorPhasesProvider {
+
+  /** Returns {@code false} if {@code onStart()} is a no-op. */
+  boolean internalExtractsOnStart();
+
+  /** Returns {@code false} if {@code onEnd()} is a no-op. */
+  boolean internalExtractsOnEnd();
+}
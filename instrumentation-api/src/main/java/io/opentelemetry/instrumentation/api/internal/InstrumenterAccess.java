@@ -8,6 +8,7 @@ package io.opentelemetry.instrumentation.api.internal;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import java.time.Instant;
+import java.util.List;
 import javax.annotation.Nullable;
 
 /**
@@ -25,6 +26,20 @@ public interface InstrumenterAccess {
       Instant startTime,
       Instant endTime);
 
+  <REQUEST, RESPONSE> List<Context> startAll(
+      Instrumenter<REQUEST, RESPONSE> instrumenter,
+      Context parentContext,
+      List<? extends REQUEST> requests,
+      List<Instant> startTimes);
+
+  <REQUEST, RESPONSE> void endAll(
+      Instrumenter<REQUEST, RESPONSE> instrumenter,
+      List<Context> contexts,
+      List<? extends REQUEST> requests,
+      @Nullable RESPONSE response,
+      @Nullable Throwable error,
+      List<Instant> endTimes);
+
   <REQUEST, RESPONSE> Context suppressSpan(
       Instrumenter<REQUEST, RESPONSE> instrumenter, Context parentContext, REQUEST request);
 }
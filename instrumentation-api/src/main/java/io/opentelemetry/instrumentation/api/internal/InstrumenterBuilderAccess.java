@@ -26,4 +26,7 @@ public interface InstrumenterBuilderAccess {
       InstrumenterBuilder<REQUEST, RESPONSE> builder,
       TextMapSetter<REQUEST> setter,
       SpanKindExtractor<REQUEST> spanKindExtractor);
+
+  void setExceptionRecordingPolicy(
+      InstrumenterBuilder<?, ?> builder, ExceptionRecordingPolicy exceptionRecordingPolicy);
 }
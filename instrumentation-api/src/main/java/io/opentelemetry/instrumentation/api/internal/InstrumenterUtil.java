@@ -12,6 +12,7 @@ import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.api.instrumenter.InstrumenterBuilder;
 import io.opentelemetry.instrumentation.api.instrumenter.SpanKindExtractor;
 import java.time.Instant;
+import java.util.List;
 import javax.annotation.Nullable;
 
 /**
@@ -45,6 +46,36 @@ public final class InstrumenterUtil {
         instrumenter, parentContext, request, response, error, startTime, endTime);
   }
 
+  /**
+   * Starts one operation per request of a batch, e.g. the records of a messaging poll or the
+   * statements of a JDBC batch; {@code requests} and {@code startTimes} must have the same size and
+   * order. Each operation is started only if {@link Instrumenter#shouldStart(Context, Object)}
+   * returns {@code true} for it, so the returned list holds a {@code null} context in place of the
+   * operations that were suppressed. The returned contexts must be ended with {@link
+   * #endAll(Instrumenter, List, List, Object, Throwable, List)}.
+   */
+  public static <REQUEST, RESPONSE> List<Context> startAll(
+      Instrumenter<REQUEST, RESPONSE> instrumenter,
+      Context parentContext,
+      List<? extends REQUEST> requests,
+      List<Instant> startTimes) {
+    return instrumenterAccess.startAll(instrumenter, parentContext, requests, startTimes);
+  }
+
+  /**
+   * Ends the operations started with {@link #startAll(Instrumenter, Context, List, List)}; {@code
+   * contexts}, {@code requests} and {@code endTimes} must have the same size and order.
+   */
+  public static <REQUEST, RESPONSE> void endAll(
+      Instrumenter<REQUEST, RESPONSE> instrumenter,
+      List<Context> contexts,
+      List<? extends REQUEST> requests,
+      @Nullable RESPONSE response,
+      @Nullable Throwable error,
+      List<Instant> endTimes) {
+    instrumenterAccess.endAll(instrumenter, contexts, requests, response, error, endTimes);
+  }
+
   public static <REQUEST, RESPONSE> Context suppressSpan(
       Instrumenter<REQUEST, RESPONSE> instrumenter, Context parentContext, REQUEST request) {
     return instrumenterAccess.suppressSpan(instrumenter, parentContext, request);
@@ -67,5 +98,17 @@ public final class InstrumenterUtil {
         builder, setter, spanKindExtractor);
   }
 
+  /**
+   * Sets the {@link ExceptionRecordingPolicy} that controls how the errors of failed operations are
+   * recorded on their spans. By default, the policy is configured with the {@code
+   * otel.instrumentation.experimental.exception-recording.*} options, and records all errors with
+   * their full stack trace when none of them is set.
+   */
+  public static void setExceptionRecordingPolicy(
+      InstrumenterBuilder<?, ?> builder, ExceptionRecordingPolicy exceptionRecordingPolicy) {
+    // instrumenterBuilderAccess is guaranteed to be non-null here
+    instrumenterBuilderAccess.setExceptionRecordingPolicy(builder, exceptionRecordingPolicy);
+  }
+
   private InstrumenterUtil() {}
 }
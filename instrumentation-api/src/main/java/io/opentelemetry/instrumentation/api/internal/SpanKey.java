@@ -8,85 +8,128 @@ package io.opentelemetry.instrumentation.api.internal;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextKey;
+import java.util.Collection;
 import javax.annotation.Nullable;
 
 /**
  * Makes span keys for specific instrumentation accessible to enrich and suppress spans.
  *
+ * <p>The spans of all span keys are kept in a single context entry, together with a bit mask of
+ * the span keys that are present. Checking whether a set of span keys is present in a context is a
+ * single context lookup and a mask test, no matter how many span keys are checked and how many
+ * other entries the context has.
+ *
  * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
  * at any time.
  */
 public final class SpanKey {
 
-  /* Context keys */
+  /* Context key */
 
-  // span kind keys
-  private static final ContextKey<Span> KIND_SERVER_KEY =
-      ContextKey.named("opentelemetry-traces-span-key-kind-server");
-  private static final ContextKey<Span> KIND_CLIENT_KEY =
-      ContextKey.named("opentelemetry-traces-span-key-kind-client");
-  private static final ContextKey<Span> KIND_CONSUMER_KEY =
-      ContextKey.named("opentelemetry-traces-span-key-kind-consumer");
-  private static final ContextKey<Span> KIND_PRODUCER_KEY =
-      ContextKey.named("opentelemetry-traces-span-key-kind-producer");
+  private static final ContextKey<Spans> SPANS_KEY =
+      ContextKey.named("opentelemetry-traces-span-keys");
 
-  // semantic convention keys
-  private static final ContextKey<Span> HTTP_SERVER_KEY =
-      ContextKey.named("opentelemetry-traces-span-key-http-server");
-  private static final ContextKey<Span> RPC_SERVER_KEY =
-      ContextKey.named("opentelemetry-traces-span-key-rpc-server");
-
-  private static final ContextKey<Span> HTTP_CLIENT_KEY =
-      ContextKey.named("opentelemetry-traces-span-key-http-client");
-  private static final ContextKey<Span> RPC_CLIENT_KEY =
-      ContextKey.named("opentelemetry-traces-span-key-rpc-client");
-  private static final ContextKey<Span> DB_CLIENT_KEY =
-      ContextKey.named("opentelemetry-traces-span-key-db-client");
-
-  private static final ContextKey<Span> PRODUCER_KEY =
-      ContextKey.named("opentelemetry-traces-span-key-producer");
-  private static final ContextKey<Span> CONSUMER_RECEIVE_KEY =
-      ContextKey.named("opentelemetry-traces-span-key-consumer-receive");
-  private static final ContextKey<Span> CONSUMER_PROCESS_KEY =
-      ContextKey.named("opentelemetry-traces-span-key-consumer-process");
+  // assigns the bit of each span key, must be declared before the span keys
+  private static int keyCount;
 
   /* Span keys */
 
   // span kind keys
-  public static final SpanKey KIND_SERVER = new SpanKey(KIND_SERVER_KEY);
-  public static final SpanKey KIND_CLIENT = new SpanKey(KIND_CLIENT_KEY);
-  public static final SpanKey KIND_CONSUMER = new SpanKey(KIND_CONSUMER_KEY);
-  public static final SpanKey KIND_PRODUCER = new SpanKey(KIND_PRODUCER_KEY);
+  public static final SpanKey KIND_SERVER = create("kind-server");
+  public static final SpanKey KIND_CLIENT = create("kind-client");
+  public static final SpanKey KIND_CONSUMER = create("kind-consumer");
+  public static final SpanKey KIND_PRODUCER = create("kind-producer");
 
   // semantic convention keys
-  public static final SpanKey HTTP_SERVER = new SpanKey(HTTP_SERVER_KEY);
-  public static final SpanKey RPC_SERVER = new SpanKey(RPC_SERVER_KEY);
+  public static final SpanKey HTTP_SERVER = create("http-server");
+  public static final SpanKey RPC_SERVER = create("rpc-server");
 
-  public static final SpanKey HTTP_CLIENT = new SpanKey(HTTP_CLIENT_KEY);
-  public static final SpanKey RPC_CLIENT = new SpanKey(RPC_CLIENT_KEY);
-  public static final SpanKey DB_CLIENT = new SpanKey(DB_CLIENT_KEY);
+  public static final SpanKey HTTP_CLIENT = create("http-client");
+  public static final SpanKey RPC_CLIENT = create("rpc-client");
+  public static final SpanKey DB_CLIENT = create("db-client");
 
-  public static final SpanKey PRODUCER = new SpanKey(PRODUCER_KEY);
-  public static final SpanKey CONSUMER_RECEIVE = new SpanKey(CONSUMER_RECEIVE_KEY);
-  public static final SpanKey CONSUMER_PROCESS = new SpanKey(CONSUMER_PROCESS_KEY);
+  public static final SpanKey PRODUCER = create("producer");
+  public static final SpanKey CONSUMER_RECEIVE = create("consumer-receive");
+  public static final SpanKey CONSUMER_PROCESS = create("consumer-process");
 
-  private final ContextKey<Span> key;
+  private final String name;
+  private final int index;
 
-  private SpanKey(ContextKey<Span> key) {
-    this.key = key;
+  private static SpanKey create(String name) {
+    return new SpanKey("opentelemetry-traces-span-key-" + name, keyCount++);
   }
 
+  private SpanKey(String name, int index) {
+    this.name = name;
+    this.index = index;
+  }
+
+  // the javaagent bridges all the methods that read or write the context between the application
+  // and the agent span keys
   public Context storeInContext(Context context, Span span) {
-    return context.with(key, span);
+    return storeInContext(context, 1 << index, span);
   }
 
   @Nullable
   public Span fromContextOrNull(Context context) {
-    return context.get(key);
+    Spans spans = context.get(SPANS_KEY);
+    return spans == null ? null : spans.spans[index];
+  }
+
+  /** Returns the bit mask of the given span keys. */
+  public static int mask(Collection<SpanKey> spanKeys) {
+    int mask = 0;
+    for (SpanKey spanKey : spanKeys) {
+      mask |= 1 << spanKey.index;
+    }
+    return mask;
+  }
+
+  /** Stores the {@code span} in the {@code context} for all the span keys of the {@code mask}. */
+  public static Context storeInContext(Context context, int mask, Span span) {
+    if (mask == 0) {
+      return context;
+    }
+    Spans spans = context.get(SPANS_KEY);
+    return context.with(
+        SPANS_KEY, spans == null ? Spans.create(mask, span) : spans.with(mask, span));
+  }
+
+  /** Returns whether the {@code context} contains a span for every span key of the {@code mask}. */
+  public static boolean allPresentInContext(Context context, int mask) {
+    Spans spans = context.get(SPANS_KEY);
+    int present = spans == null ? 0 : spans.mask;
+    return (present & mask) == mask;
   }
 
   @Override
   public String toString() {
-    return key.toString();
+    return name;
+  }
+
+  // immutable, updated copy-on-write
+  private static final class Spans {
+    final int mask;
+    final Span[] spans;
+
+    private Spans(int mask, Span[] spans) {
+      this.mask = mask;
+      this.spans = spans;
+    }
+
+    static Spans create(int mask, Span span) {
+      return new Spans(mask, fill(new Span[keyCount], mask, span));
+    }
+
+    Spans with(int mask, Span span) {
+      return new Spans(this.mask | mask, fill(spans.clone(), mask, span));
+    }
+
+    private static Span[] fill(Span[] spans, int mask, Span span) {
+      for (int bits = mask; bits != 0; bits &= bits - 1) {
+        spans[Integer.numberOfTrailingZeros(bits)] = span;
+      }
+      return spans;
+    }
   }
 }
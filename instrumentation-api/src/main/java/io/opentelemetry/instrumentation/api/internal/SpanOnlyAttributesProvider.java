@@ -0,0 +1,24 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import io.opentelemetry.instrumentation.api.instrumenter.OperationListener;
+
+/**
+ * Tells whether the attributes extracted by the {@link AttributesExtractor} that implements this
+ * interface are only ever recorded on the span, i.e. they are not needed for sampling and not used
+ * by any {@link OperationListener}. When the {@code
+ * otel.instrumentation.experimental.skip-unsampled-span-attributes} option is enabled, such
+ * extractors are only called for spans that are recording.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public interface SpanOnlyAttributesProvider {
+
+  boolean internalExtractsSpanOnlyAttributes();
+}
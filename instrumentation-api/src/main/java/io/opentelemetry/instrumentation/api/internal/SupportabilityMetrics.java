@@ -5,6 +5,8 @@
 
 package io.opentelemetry.instrumentation.api.internal;
 
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.trace.SpanKind;
 import java.security.PrivilegedAction;
 import java.util.concurrent.ConcurrentHashMap;
@@ -14,23 +16,38 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /**
- * This class is internal and is hence not for public use. Its APIs are unstable and can change at
- * any time.
+ * Counters and gauges describing the instrumentation itself. They are periodically logged when the
+ * agent debug mode is enabled, and exported as OpenTelemetry metrics once {@link
+ * #registerMetrics(OpenTelemetry)} was called when {@code
+ * otel.instrumentation.experimental.supportability-metrics.enabled} is set.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
  */
 public final class SupportabilityMetrics {
   private static final Logger logger = Logger.getLogger(SupportabilityMetrics.class.getName());
+  private static final String INSTRUMENTATION_NAME = "io.opentelemetry.instrumentation-api";
+
   private final boolean agentDebugEnabled;
+  private final boolean metricsEnabled;
   private final Consumer<String> reporter;
 
   private final ConcurrentMap<String, KindCounters> suppressionCounters = new ConcurrentHashMap<>();
   private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, ObservedValue> observedValues = new ConcurrentHashMap<>();
+  @Nullable private volatile Meter meter;
 
   private static final SupportabilityMetrics INSTANCE =
       new SupportabilityMetrics(
-              ConfigPropertiesUtil.getBoolean("otel.javaagent.debug", false), logger::fine)
+              ConfigPropertiesUtil.getBoolean("otel.javaagent.debug", false),
+              ConfigPropertiesUtil.getBoolean(
+                  "otel.instrumentation.experimental.supportability-metrics.enabled", false),
+              logger::fine)
           .start();
 
   public static SupportabilityMetrics instance() {
@@ -39,10 +56,33 @@ public final class SupportabilityMetrics {
 
   // visible for testing
   SupportabilityMetrics(boolean agentDebugEnabled, Consumer<String> reporter) {
+    this(agentDebugEnabled, false, reporter);
+  }
+
+  // visible for testing
+  SupportabilityMetrics(
+      boolean agentDebugEnabled, boolean metricsEnabled, Consumer<String> reporter) {
     this.agentDebugEnabled = agentDebugEnabled;
+    this.metricsEnabled = metricsEnabled;
     this.reporter = reporter;
   }
 
+  /**
+   * Exports all counters and gauges, including the ones registered later on, as metrics of the
+   * given {@link OpenTelemetry} instance. Does nothing unless supportability metrics are enabled;
+   * only the first call has an effect.
+   */
+  public void registerMetrics(OpenTelemetry openTelemetry) {
+    if (!metricsEnabled || meter != null) {
+      return;
+    }
+    Meter meter = openTelemetry.getMeterProvider().meterBuilder(INSTRUMENTATION_NAME).build();
+    this.meter = meter;
+    for (ObservedValue observedValue : observedValues.values()) {
+      observedValue.registerWith(meter);
+    }
+  }
+
   public void recordSuppressedSpan(SpanKind kind, String instrumentationName) {
     if (!agentDebugEnabled) {
       return;
@@ -54,11 +94,46 @@ public final class SupportabilityMetrics {
   }
 
   public void incrementCounter(String counterName) {
-    if (!agentDebugEnabled) {
+    if (!agentDebugEnabled && !metricsEnabled) {
+      return;
+    }
+
+    AtomicLong counter = counters.get(counterName);
+    if (counter == null) {
+      counter = counters.computeIfAbsent(counterName, this::newCounter);
+    }
+    counter.incrementAndGet();
+  }
+
+  /**
+   * Registers a counter whose cumulative value is maintained elsewhere, e.g. the number of
+   * evictions of a cache. The {@code value} must never decrease.
+   */
+  public void registerCounter(String counterName, LongSupplier value) {
+    observe(new ObservedValue(counterName, value, /* monotonic= */ true));
+  }
+
+  /** Registers a gauge, e.g. the current size of a cache. */
+  public void registerGauge(String gaugeName, LongSupplier value) {
+    observe(new ObservedValue(gaugeName, value, /* monotonic= */ false));
+  }
+
+  private AtomicLong newCounter(String counterName) {
+    AtomicLong counter = new AtomicLong();
+    observe(new ObservedValue(counterName, counter::get, /* monotonic= */ true));
+    return counter;
+  }
+
+  private void observe(ObservedValue observedValue) {
+    if (!agentDebugEnabled && !metricsEnabled) {
       return;
     }
 
-    counters.computeIfAbsent(counterName, k -> new AtomicLong()).incrementAndGet();
+    observedValues.put(observedValue.name, observedValue);
+    Meter meter = this.meter;
+    if (meter != null) {
+      observedValue.registerWith(meter);
+    }
   }
 
   // visible for testing
@@ -73,11 +148,17 @@ public final class SupportabilityMetrics {
             }
           }
         });
-    counters.forEach(
-        (counterName, counter) -> {
-          long value = counter.getAndSet(0);
-          if (value > 0) {
-            reporter.accept("Counter '" + counterName + "' : " + value);
+    observedValues.forEach(
+        (name, observedValue) -> {
+          long value = observedValue.value.getAsLong();
+          if (observedValue.monotonic) {
+            long delta = value - observedValue.lastReported;
+            observedValue.lastReported = value;
+            if (delta > 0) {
+              reporter.accept("Counter '" + name + "' : " + delta);
+            }
+          } else if (value > 0) {
+            reporter.accept("Gauge '" + name + "' : " + value);
           }
         });
   }
@@ -122,12 +203,51 @@ public final class SupportabilityMetrics {
    * any time.
    */
   public static final class CounterNames {
+    public static final String SQL_STATEMENT_SANITIZER_CACHE_HIT =
+        "sql_statement_sanitizer.cache.hits";
     public static final String SQL_STATEMENT_SANITIZER_CACHE_MISS =
-        "SqlStatementSanitizer cache miss";
+        "sql_statement_sanitizer.cache.misses";
+    public static final String SQL_STATEMENT_SANITIZER_CACHE_EVICTION =
+        "sql_statement_sanitizer.cache.evictions";
+    public static final String SQL_STATEMENT_SANITIZER_CACHE_WEIGHT =
+        "sql_statement_sanitizer.cache.weight";
 
     private CounterNames() {}
   }
 
+  private static final class ObservedValue {
+    final String name;
+    final LongSupplier value;
+    final boolean monotonic;
+    // only accessed by the reporter thread
+    long lastReported;
+    // guarded by this
+    private boolean registered;
+
+    ObservedValue(String name, LongSupplier value, boolean monotonic) {
+      this.name = name;
+      this.value = value;
+      this.monotonic = monotonic;
+    }
+
+    synchronized void registerWith(Meter meter) {
+      if (registered) {
+        return;
+      }
+      registered = true;
+      if (monotonic) {
+        meter
+            .counterBuilder(name)
+            .buildWithCallback(measurement -> measurement.record(value.getAsLong()));
+      } else {
+        meter
+            .gaugeBuilder(name)
+            .ofLongs()
+            .buildWithCallback(measurement -> measurement.record(value.getAsLong()));
+      }
+    }
+  }
+
   // this class is threadsafe.
   private static class KindCounters {
     private final AtomicLong server = new AtomicLong();
@@ -0,0 +1,366 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+import javax.annotation.Nullable;
+
+/**
+ * A bounded {@link Cache} using the W-TinyLFU eviction policy.
+ *
+ * <p>Entries are stored in a {@link ConcurrentHashMap}, so reads never block. Reads are recorded in
+ * a lossy {@link StripedReadBuffer} and replayed against the eviction policy in batches, by
+ * whichever thread manages to acquire the eviction lock. Writes update the policy immediately.
+ *
+ * <p>Every entry has a weight, computed once when it is added. The cache keeps the total weight of
+ * its entries at or below its maximum weight; unless a weigher is given every entry weighs 1, so
+ * the maximum weight is simply the maximum number of entries.
+ *
+ * <p>The policy keeps new entries in a small LRU admission window (1% of the maximum weight).
+ * Entries that overflow the window compete with the least recently used entry of the main segmented
+ * LRU space; a {@link FrequencySketch} decides which one of the two has been more popular recently
+ * and should stay. Compared to a plain LRU policy this keeps frequently used entries in the cache
+ * when it is flooded with entries that are only used once, e.g. by scans.
+ */
+final class BoundedCache<K, V> implements WeightedCache<K, V> {
+
+  private static final int NONE = 0;
+  private static final int WINDOW = 1;
+  private static final int PROBATION = 2;
+  private static final int PROTECTED = 3;
+
+  private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+  private final StripedReadBuffer<Node<K, V>> readBuffer = new StripedReadBuffer<>();
+  private final ReentrantLock evictionLock = new ReentrantLock();
+
+  private final ToIntBiFunction<? super K, ? super V> weigher;
+  private final long maximum;
+  private final long windowMaximum;
+  private final long protectedMaximum;
+
+  // all the fields below are guarded by evictionLock
+  private final FrequencySketch sketch;
+  private final NodeDeque<K, V> window = new NodeDeque<>();
+  private final NodeDeque<K, V> probation = new NodeDeque<>();
+  private final NodeDeque<K, V> protectedDeque = new NodeDeque<>();
+  private long linkedWeight;
+  private long windowWeight;
+  private long protectedWeight;
+  private long evictionCount;
+
+  BoundedCache(int capacity) {
+    this(capacity, (key, value) -> 1, capacity);
+  }
+
+  BoundedCache(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher) {
+    // the number of entries is not known up front, the sketch grows along with the cache and keeps
+    // its counters when it does
+    this(maximumWeight, weigher, 0);
+  }
+
+  private BoundedCache(
+      long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher, int expectedSize) {
+    if (maximumWeight < 0) {
+      throw new IllegalArgumentException("maximum weight must not be negative: " + maximumWeight);
+    }
+    this.weigher = weigher;
+    maximum = maximumWeight;
+    windowMaximum = Math.min(maximumWeight, Math.max(1, maximumWeight / 100));
+    // the main space is split 20/80 between the probation and protected segments
+    protectedMaximum = (maximumWeight - windowMaximum) * 4 / 5;
+    sketch = new FrequencySketch(expectedSize);
+  }
+
+  @Override
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    Node<K, V> node = data.get(key);
+    if (node != null) {
+      afterRead(node);
+      return node.value;
+    }
+    // same as ConcurrentMap.computeIfAbsent(), the value may be computed more than once when
+    // several threads race to compute it
+    V value = mappingFunction.apply(key);
+    if (value == null) {
+      return null;
+    }
+    Node<K, V> newNode = newNode(key, value);
+    Node<K, V> prior = data.putIfAbsent(key, newNode);
+    if (prior != null) {
+      afterRead(prior);
+      return prior.value;
+    }
+    afterWrite(null, newNode);
+    return value;
+  }
+
+  @Nullable
+  @Override
+  public V get(K key) {
+    Node<K, V> node = data.get(key);
+    if (node == null) {
+      return null;
+    }
+    afterRead(node);
+    return node.value;
+  }
+
+  @Override
+  public void put(K key, V value) {
+    Node<K, V> node = newNode(key, value);
+    Node<K, V> prior = data.put(key, node);
+    afterWrite(prior, node);
+  }
+
+  @Override
+  public void remove(K key) {
+    Node<K, V> node = data.remove(key);
+    if (node != null) {
+      evictionLock.lock();
+      try {
+        unlink(node);
+      } finally {
+        evictionLock.unlock();
+      }
+    }
+  }
+
+  @Override
+  public long weightedSize() {
+    evictionLock.lock();
+    try {
+      return linkedWeight;
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  @Override
+  public long evictionCount() {
+    evictionLock.lock();
+    try {
+      return evictionCount;
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  // Visible for tests
+  int size() {
+    return data.size();
+  }
+
+  private Node<K, V> newNode(K key, V value) {
+    int weight = weigher.applyAsInt(key, value);
+    if (weight < 0) {
+      throw new IllegalArgumentException("weight must not be negative: " + weight);
+    }
+    return new Node<>(key, value, weight);
+  }
+
+  private void afterRead(Node<K, V> node) {
+    if (readBuffer.offer(node) && evictionLock.tryLock()) {
+      try {
+        readBuffer.drainTo(this::onAccess);
+      } finally {
+        evictionLock.unlock();
+      }
+    }
+  }
+
+  private void afterWrite(@Nullable Node<K, V> prior, Node<K, V> node) {
+    evictionLock.lock();
+    try {
+      readBuffer.drainTo(this::onAccess);
+      if (prior != null) {
+        unlink(prior);
+      }
+      // the node might have already been replaced or removed by another thread
+      if (node.queue == NONE && data.get(node.key) == node) {
+        sketch.ensureCapacity(data.size());
+        sketch.increment(node.key);
+        if (node.weight > maximum) {
+          // would flush the whole cache and be evicted right away anyway
+          evictionCount++;
+          data.remove(node.key, node);
+          return;
+        }
+        node.queue = WINDOW;
+        window.addLast(node);
+        windowWeight += node.weight;
+        linkedWeight += node.weight;
+        evict();
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  // called with evictionLock held
+  private void onAccess(Node<K, V> node) {
+    switch (node.queue) {
+      case WINDOW:
+        sketch.increment(node.key);
+        window.moveToLast(node);
+        break;
+      case PROBATION:
+        sketch.increment(node.key);
+        probation.unlink(node);
+        node.queue = PROTECTED;
+        protectedDeque.addLast(node);
+        protectedWeight += node.weight;
+        // demote the least recently used protected entries back to probation
+        while (protectedWeight > protectedMaximum) {
+          Node<K, V> demoted = protectedDeque.first;
+          protectedDeque.unlink(demoted);
+          protectedWeight -= demoted.weight;
+          demoted.queue = PROBATION;
+          probation.addLast(demoted);
+        }
+        break;
+      case PROTECTED:
+        sketch.increment(node.key);
+        protectedDeque.moveToLast(node);
+        break;
+      default:
+        // the entry was already evicted or removed
+        break;
+    }
+  }
+
+  // called with evictionLock held
+  private void evict() {
+    // entries that overflow the admission window become candidates for the main space; they are
+    // added to the most recently used end of probation
+    int candidates = 0;
+    while (windowWeight > windowMaximum) {
+      Node<K, V> node = window.first;
+      window.unlink(node);
+      windowWeight -= node.weight;
+      node.queue = PROBATION;
+      probation.addLast(node);
+      candidates++;
+    }
+
+    Node<K, V> candidate = candidates > 0 ? probation.last : null;
+    while (linkedWeight > maximum) {
+      if (candidate != null && candidate.queue != PROBATION) {
+        candidate = null;
+      }
+      Node<K, V> victim = probation.first;
+      if (victim == null) {
+        victim = protectedDeque.first;
+      }
+      if (victim == null) {
+        victim = window.first;
+      }
+      if (candidate == null || candidate == victim) {
+        evictNode(victim);
+        candidate = null;
+        continue;
+      }
+
+      Node<K, V> previous = candidate.prev;
+      candidates--;
+      if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+        evictNode(victim);
+      } else {
+        evictNode(candidate);
+      }
+      candidate = candidates > 0 ? previous : null;
+    }
+  }
+
+  // called with evictionLock held
+  private void evictNode(Node<K, V> node) {
+    evictionCount++;
+    data.remove(node.key, node);
+    unlink(node);
+  }
+
+  // called with evictionLock held
+  private void unlink(Node<K, V> node) {
+    switch (node.queue) {
+      case WINDOW:
+        window.unlink(node);
+        windowWeight -= node.weight;
+        break;
+      case PROBATION:
+        probation.unlink(node);
+        break;
+      case PROTECTED:
+        protectedDeque.unlink(node);
+        protectedWeight -= node.weight;
+        break;
+      default:
+        // not linked yet, or already unlinked
+        return;
+    }
+    node.queue = NONE;
+    linkedWeight -= node.weight;
+  }
+
+  private static final class Node<K, V> {
+    final K key;
+    final V value;
+    final int weight;
+
+    // guarded by evictionLock
+    int queue = NONE;
+    @Nullable Node<K, V> prev;
+    @Nullable Node<K, V> next;
+
+    Node(K key, V value, int weight) {
+      this.key = key;
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+
+  // an intrusive doubly linked list, ordered from least to most recently used
+  private static final class NodeDeque<K, V> {
+    @Nullable Node<K, V> first;
+    @Nullable Node<K, V> last;
+
+    void addLast(Node<K, V> node) {
+      node.prev = last;
+      node.next = null;
+      if (last == null) {
+        first = node;
+      } else {
+        last.next = node;
+      }
+      last = node;
+    }
+
+    void unlink(Node<K, V> node) {
+      Node<K, V> prev = node.prev;
+      Node<K, V> next = node.next;
+      if (prev == null) {
+        first = next;
+      } else {
+        prev.next = next;
+      }
+      if (next == null) {
+        last = prev;
+      } else {
+        next.prev = prev;
+      }
+      node.prev = null;
+      node.next = null;
+    }
+
+    void moveToLast(Node<K, V> node) {
+      if (node != last) {
+        unlink(node);
+        addLast(node);
+      }
+    }
+  }
+}
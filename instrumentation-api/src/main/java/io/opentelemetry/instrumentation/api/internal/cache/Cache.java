@@ -5,8 +5,8 @@
 
 package io.opentelemetry.instrumentation.api.internal.cache;
 
-import io.opentelemetry.instrumentation.api.internal.cache.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
 import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
 import javax.annotation.Nullable;
 
 /**
@@ -30,12 +30,23 @@ public interface Cache<K, V> {
   /**
    * Returns new bounded cache.
    *
-   * <p>Both keys and values are strongly referenced.
+   * <p>Both keys and values are strongly referenced. When the cache is full, the entries that were
+   * used least frequently recently are evicted first.
    */
   static <K, V> Cache<K, V> bounded(int capacity) {
-    ConcurrentLinkedHashMap<K, V> map =
-        new ConcurrentLinkedHashMap.Builder<K, V>().maximumWeightedCapacity(capacity).build();
-    return new MapBackedCache<>(map);
+    return new BoundedCache<>(capacity);
+  }
+
+  /**
+   * Returns new bounded cache whose capacity is measured by the weight of its entries, as computed
+   * by the {@code weigher} when an entry is added, rather than by their number.
+   *
+   * <p>Both keys and values are strongly referenced. When the total weight of the entries exceeds
+   * {@code maximumWeight}, the entries that were used least frequently recently are evicted first.
+   */
+  static <K, V> WeightedCache<K, V> weighted(
+      long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher) {
+    return new BoundedCache<>(maximumWeight, weigher);
   }
 
   /**
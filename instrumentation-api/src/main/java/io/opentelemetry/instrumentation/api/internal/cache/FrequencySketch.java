@@ -0,0 +1,126 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+/**
+ * A probabilistic estimate of how often keys have been accessed recently, used by the TinyLFU
+ * admission policy of the {@link BoundedCache}. This is a count-min sketch with four 4-bit counters
+ * per key; all counters are halved once the number of recorded accesses reaches ten times the
+ * cache capacity, so that the popularity of keys decays over time.
+ *
+ * <p>The algorithm follows the frequency sketch of the <a
+ * href="https://github.com/ben-manes/caffeine">Caffeine</a> library.
+ *
+ * <p>This class is not thread-safe; the {@link BoundedCache} only uses it while holding its
+ * eviction lock.
+ */
+final class FrequencySketch {
+
+  private static final long[] SEED = {
+    0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+  };
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final long ONE_MASK = 0x1111111111111111L;
+  private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+  private long[] table;
+  private int tableMask;
+  private int sampleSize;
+  private int size;
+
+  FrequencySketch(int capacity) {
+    int maximum = Math.min(Math.max(capacity, 1), MAXIMUM_CAPACITY);
+    // each long holds sixteen 4-bit counters
+    table = new long[ceilingPowerOfTwo(maximum)];
+    tableMask = table.length - 1;
+    sampleSize = 10 * Math.min(maximum, Integer.MAX_VALUE / 10);
+  }
+
+  /**
+   * Grows the sketch so that it can track {@code capacity} keys accurately. The recorded
+   * frequencies are kept when the sketch grows.
+   */
+  void ensureCapacity(int capacity) {
+    if (capacity <= table.length || table.length >= MAXIMUM_CAPACITY) {
+      return;
+    }
+    int maximum = Math.min(capacity, MAXIMUM_CAPACITY);
+    long[] oldTable = table;
+    table = new long[ceilingPowerOfTwo(maximum)];
+    tableMask = table.length - 1;
+    sampleSize = 10 * Math.min(maximum, Integer.MAX_VALUE / 10);
+    // counters are indexed by the low bits of the hash; repeating the old table gives every
+    // counter in the larger table the value of the old counter that it was split from, so all the
+    // estimates stay the same
+    for (int i = 0; i < table.length; i += oldTable.length) {
+      System.arraycopy(oldTable, 0, table, i, oldTable.length);
+    }
+  }
+
+  /** Returns the estimated number of recent accesses of the {@code key}, at most 15. */
+  int frequency(Object key) {
+    int hash = spread(key.hashCode());
+    int start = (hash & 3) << 2;
+    int frequency = Integer.MAX_VALUE;
+    for (int i = 0; i < 4; i++) {
+      int index = indexOf(hash, i);
+      int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  /** Records an access of the {@code key}. */
+  void increment(Object key) {
+    int hash = spread(key.hashCode());
+    int start = (hash & 3) << 2;
+    boolean added = false;
+    for (int i = 0; i < 4; i++) {
+      added |= incrementAt(indexOf(hash, i), start + i);
+    }
+    if (added && ++size == sampleSize) {
+      reset();
+    }
+  }
+
+  // increments the j-th counter of table[i], unless it is already saturated
+  private boolean incrementAt(int i, int j) {
+    int offset = j << 2;
+    long mask = 0xfL << offset;
+    if ((table[i] & mask) != mask) {
+      table[i] += 1L << offset;
+      return true;
+    }
+    return false;
+  }
+
+  // halves all counters
+  private void reset() {
+    int count = 0;
+    for (int i = 0; i < table.length; i++) {
+      count += Long.bitCount(table[i] & ONE_MASK);
+      table[i] = (table[i] >>> 1) & RESET_MASK;
+    }
+    size = (size >>> 1) - (count >>> 2);
+  }
+
+  private int indexOf(int hash, int i) {
+    long h = (hash + SEED[i]) * SEED[i];
+    h += h >>> 32;
+    return ((int) h) & tableMask;
+  }
+
+  // applies a supplemental hash function to defend against poor quality hash codes
+  private static int spread(int x) {
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    return (x >>> 16) ^ x;
+  }
+
+  private static int ceilingPowerOfTwo(int x) {
+    return 1 << -Integer.numberOfLeadingZeros(x - 1);
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A lossy buffer of cache reads. Threads record reads into one of several ring buffers picked by
+ * their thread id, so that concurrent readers rarely contend on the same counter. A read is simply
+ * dropped when its ring buffer is full or when another thread won the race for the slot; the
+ * eviction policy only needs a sample of the accesses.
+ */
+final class StripedReadBuffer<E> {
+
+  private static final int MAX_STRIPES = 64;
+  private static final int BUFFER_SIZE = 16;
+  private static final int BUFFER_MASK = BUFFER_SIZE - 1;
+
+  private final RingBuffer<E>[] stripes;
+  private final int stripeMask;
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  StripedReadBuffer() {
+    int processors = Runtime.getRuntime().availableProcessors();
+    int count = Math.min(MAX_STRIPES, 1 << -Integer.numberOfLeadingZeros(processors - 1));
+    stripes = new RingBuffer[count];
+    for (int i = 0; i < count; i++) {
+      stripes[i] = new RingBuffer<>();
+    }
+    stripeMask = count - 1;
+  }
+
+  /**
+   * Records the {@code element}. Returns {@code true} when the ring buffer of the current thread
+   * is full and should be drained.
+   */
+  boolean offer(E element) {
+    long id = Thread.currentThread().getId();
+    int hash = (int) (id ^ (id >>> 32)) * 0x9e3779b9;
+    RingBuffer<E> ring = stripes[(hash >>> 16) & stripeMask];
+
+    long head = ring.readCounter;
+    long tail = ring.writeCounter.get();
+    long size = tail - head;
+    if (size >= BUFFER_SIZE) {
+      return true;
+    }
+    if (ring.writeCounter.compareAndSet(tail, tail + 1)) {
+      ring.buffer.lazySet((int) (tail & BUFFER_MASK), element);
+      return size + 1 >= BUFFER_SIZE;
+    }
+    // lost the race with another reader, drop the read
+    return false;
+  }
+
+  /** Passes all recorded reads to the {@code consumer}. Must not be called concurrently. */
+  void drainTo(Consumer<E> consumer) {
+    for (RingBuffer<E> ring : stripes) {
+      long head = ring.readCounter;
+      long tail = ring.writeCounter.get();
+      while (head != tail) {
+        int index = (int) (head & BUFFER_MASK);
+        E element = ring.buffer.get(index);
+        if (element == null) {
+          // the slot was claimed, but the element is not published yet
+          break;
+        }
+        ring.buffer.lazySet(index, null);
+        consumer.accept(element);
+        head++;
+      }
+      ring.readCounter = head;
+    }
+  }
+
+  private static final class RingBuffer<E> {
+    final AtomicReferenceArray<E> buffer = new AtomicReferenceArray<>(BUFFER_SIZE);
+    final AtomicLong writeCounter = new AtomicLong();
+    // only written by the draining thread
+    volatile long readCounter;
+  }
+}
@@ -0,0 +1,22 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+/**
+ * A bounded {@link Cache} whose capacity is measured by the weight of its entries, see {@link
+ * Cache#weighted(long, java.util.function.ToIntBiFunction)}.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public interface WeightedCache<K, V> extends Cache<K, V> {
+
+  /** Returns the total weight of the entries currently held by the cache. */
+  long weightedSize();
+
+  /** Returns the number of entries that were evicted to keep the cache within its bounds. */
+  long evictionCount();
+}
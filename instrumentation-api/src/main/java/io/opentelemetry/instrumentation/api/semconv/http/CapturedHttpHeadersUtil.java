@@ -25,16 +25,30 @@ final class CapturedHttpHeadersUtil {
   static String[] lowercase(List<String> names) {
     return names.stream()
         .map(s -> s.toLowerCase(Locale.ROOT))
+        .distinct()
         .collect(Collectors.toList())
         .toArray(new String[0]);
   }
 
-  static AttributeKey<List<String>> requestAttributeKey(String headerName) {
-    return requestKeysCache.computeIfAbsent(headerName, n -> createKey("request", n));
+  // the keys are resolved once when the extractor is built, not for every request
+  static AttributeKey<List<String>>[] requestAttributeKeys(String[] headerNames) {
+    return attributeKeys(headerNames, requestKeysCache, "request");
   }
 
-  static AttributeKey<List<String>> responseAttributeKey(String headerName) {
-    return responseKeysCache.computeIfAbsent(headerName, n -> createKey("response", n));
+  static AttributeKey<List<String>>[] responseAttributeKeys(String[] headerNames) {
+    return attributeKeys(headerNames, responseKeysCache, "response");
+  }
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private static AttributeKey<List<String>>[] attributeKeys(
+      String[] headerNames,
+      ConcurrentMap<String, AttributeKey<List<String>>> keysCache,
+      String type) {
+    AttributeKey<List<String>>[] keys = new AttributeKey[headerNames.length];
+    for (int i = 0; i < headerNames.length; i++) {
+      keys[i] = keysCache.computeIfAbsent(headerNames[i], n -> createKey(type, n));
+    }
+    return keys;
   }
 
   private static AttributeKey<List<String>> createKey(String type, String headerName) {
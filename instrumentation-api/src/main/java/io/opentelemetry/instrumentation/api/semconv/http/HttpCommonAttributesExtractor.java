@@ -8,9 +8,10 @@ package io.opentelemetry.instrumentation.api.semconv.http;
 import static io.opentelemetry.instrumentation.api.internal.AttributesExtractorUtil.internalSet;
 import static io.opentelemetry.instrumentation.api.internal.HttpConstants._OTHER;
 import static io.opentelemetry.instrumentation.api.semconv.http.CapturedHttpHeadersUtil.lowercase;
-import static io.opentelemetry.instrumentation.api.semconv.http.CapturedHttpHeadersUtil.requestAttributeKey;
-import static io.opentelemetry.instrumentation.api.semconv.http.CapturedHttpHeadersUtil.responseAttributeKey;
+import static io.opentelemetry.instrumentation.api.semconv.http.CapturedHttpHeadersUtil.requestAttributeKeys;
+import static io.opentelemetry.instrumentation.api.semconv.http.CapturedHttpHeadersUtil.responseAttributeKeys;
 
+import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
@@ -40,7 +41,9 @@ abstract class HttpCommonAttributesExtractor<
   final GETTER getter;
   private final HttpStatusCodeConverter statusCodeConverter;
   private final String[] capturedRequestHeaders;
+  private final AttributeKey<List<String>>[] capturedRequestHeaderKeys;
   private final String[] capturedResponseHeaders;
+  private final AttributeKey<List<String>>[] capturedResponseHeaderKeys;
   private final Set<String> knownMethods;
 
   HttpCommonAttributesExtractor(
@@ -52,7 +55,9 @@ abstract class HttpCommonAttributesExtractor<
     this.getter = getter;
     this.statusCodeConverter = statusCodeConverter;
     this.capturedRequestHeaders = lowercase(capturedRequestHeaders);
+    this.capturedRequestHeaderKeys = requestAttributeKeys(this.capturedRequestHeaders);
     this.capturedResponseHeaders = lowercase(capturedResponseHeaders);
+    this.capturedResponseHeaderKeys = responseAttributeKeys(this.capturedResponseHeaders);
     this.knownMethods = new HashSet<>(knownMethods);
   }
 
@@ -66,10 +71,10 @@ abstract class HttpCommonAttributesExtractor<
       internalSet(attributes, HttpAttributes.HTTP_REQUEST_METHOD_ORIGINAL, method);
     }
 
-    for (String name : capturedRequestHeaders) {
-      List<String> values = getter.getHttpRequestHeader(request, name);
+    for (int i = 0; i < capturedRequestHeaders.length; i++) {
+      List<String> values = getter.getHttpRequestHeader(request, capturedRequestHeaders[i]);
       if (!values.isEmpty()) {
-        internalSet(attributes, requestAttributeKey(name), values);
+        internalSet(attributes, capturedRequestHeaderKeys[i], values);
       }
     }
   }
@@ -89,10 +94,11 @@ abstract class HttpCommonAttributesExtractor<
         internalSet(attributes, HttpAttributes.HTTP_RESPONSE_STATUS_CODE, (long) statusCode);
       }
 
-      for (String name : capturedResponseHeaders) {
-        List<String> values = getter.getHttpResponseHeader(request, response, name);
+      for (int i = 0; i < capturedResponseHeaders.length; i++) {
+        List<String> values =
+            getter.getHttpResponseHeader(request, response, capturedResponseHeaders[i]);
         if (!values.isEmpty()) {
-          internalSet(attributes, responseAttributeKey(name), values);
+          internalSet(attributes, capturedResponseHeaderKeys[i], values);
         }
       }
     }
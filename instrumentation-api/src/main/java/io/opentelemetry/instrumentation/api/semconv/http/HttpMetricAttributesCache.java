@@ -0,0 +1,118 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.semconv.http;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.instrumentation.api.internal.ConfigPropertiesUtil;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.Nullable;
+
+/**
+ * Resolves the start and end attributes of an HTTP operation to a shared {@link Attributes}
+ * instance that only contains the metric dimensions, so that recording a measurement doesn't merge
+ * and copy all the attributes of the operation.
+ *
+ * <p>Dimension sets are cached in a fixed size lock-free open-addressing table; once a probe
+ * sequence is full, the attributes of the operation are built without being cached. HTTP metric
+ * dimensions (method, route, status code, ...) have a low cardinality, so in practice all of them
+ * end up cached.
+ *
+ * <p>Only the attributes advised by {@link HttpMetricsAdvice} are recorded, so the cache is only
+ * used when the {@code otel.instrumentation.http.experimental.metrics.cache-attributes} option is
+ * enabled: without it, views that keep additional attributes still see all of them.
+ */
+final class HttpMetricAttributesCache {
+
+  private static final boolean ENABLED =
+      ConfigPropertiesUtil.getBoolean(
+          "otel.instrumentation.http.experimental.metrics.cache-attributes", false);
+
+  private static final int TABLE_SIZE = 1024;
+  private static final int TABLE_MASK = TABLE_SIZE - 1;
+  private static final int MAX_PROBES = 8;
+
+  @Nullable
+  static HttpMetricAttributesCache createIfEnabled(List<AttributeKey<?>> keys) {
+    return ENABLED ? new HttpMetricAttributesCache(keys) : null;
+  }
+
+  private final AttributeKey<?>[] keys;
+  private final AtomicReferenceArray<Entry> table = new AtomicReferenceArray<>(TABLE_SIZE);
+
+  // Visible for testing
+  HttpMetricAttributesCache(List<AttributeKey<?>> keys) {
+    this.keys = keys.toArray(new AttributeKey<?>[0]);
+  }
+
+  Attributes get(Attributes startAttributes, Attributes endAttributes) {
+    int hash = 1;
+    for (AttributeKey<?> key : keys) {
+      hash = 31 * hash + Objects.hashCode(valueOf(key, startAttributes, endAttributes));
+    }
+    hash ^= hash >>> 16;
+
+    int index = hash & TABLE_MASK;
+    for (int probe = 0; probe < MAX_PROBES; probe++) {
+      Entry entry = table.get(index);
+      if (entry == null) {
+        Entry newEntry = new Entry(hash, build(startAttributes, endAttributes));
+        if (table.compareAndSet(index, null, newEntry)) {
+          return newEntry.attributes;
+        }
+        // another thread won the race for this slot
+        entry = table.get(index);
+      }
+      if (entry.hash == hash && matches(entry.attributes, startAttributes, endAttributes)) {
+        return entry.attributes;
+      }
+      index = (index + 1) & TABLE_MASK;
+    }
+    return build(startAttributes, endAttributes);
+  }
+
+  private boolean matches(Attributes cached, Attributes startAttributes, Attributes endAttributes) {
+    for (AttributeKey<?> key : keys) {
+      if (!Objects.equals(cached.get(key), valueOf(key, startAttributes, endAttributes))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Attributes build(Attributes startAttributes, Attributes endAttributes) {
+    AttributesBuilder builder = Attributes.builder();
+    for (AttributeKey<?> key : keys) {
+      Object value = valueOf(key, startAttributes, endAttributes);
+      if (value != null) {
+        builder.put((AttributeKey<Object>) key, value);
+      }
+    }
+    return builder.build();
+  }
+
+  // end attributes take precedence, same as when merging them into the start attributes
+  @Nullable
+  private static Object valueOf(
+      AttributeKey<?> key, Attributes startAttributes, Attributes endAttributes) {
+    Object value = endAttributes.get(key);
+    return value != null ? value : startAttributes.get(key);
+  }
+
+  private static final class Entry {
+    final int hash;
+    final Attributes attributes;
+
+    Entry(int hash, Attributes attributes) {
+      this.hash = hash;
+      this.attributes = attributes;
+    }
+  }
+}
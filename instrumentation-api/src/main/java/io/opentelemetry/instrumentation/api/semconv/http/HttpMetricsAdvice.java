@@ -8,6 +8,7 @@ package io.opentelemetry.instrumentation.api.semconv.http;
 import static java.util.Arrays.asList;
 import static java.util.Collections.unmodifiableList;
 
+import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.incubator.metrics.ExtendedDoubleHistogramBuilder;
 import io.opentelemetry.api.metrics.DoubleHistogramBuilder;
 import io.opentelemetry.semconv.ErrorAttributes;
@@ -23,36 +24,40 @@ final class HttpMetricsAdvice {
       unmodifiableList(
           asList(0.005, 0.01, 0.025, 0.05, 0.075, 0.1, 0.25, 0.5, 0.75, 1.0, 2.5, 5.0, 7.5, 10.0));
 
+  static final List<AttributeKey<?>> CLIENT_DURATION_ATTRIBUTES =
+      unmodifiableList(
+          asList(
+              HttpAttributes.HTTP_REQUEST_METHOD,
+              HttpAttributes.HTTP_RESPONSE_STATUS_CODE,
+              ErrorAttributes.ERROR_TYPE,
+              NetworkAttributes.NETWORK_PROTOCOL_NAME,
+              NetworkAttributes.NETWORK_PROTOCOL_VERSION,
+              ServerAttributes.SERVER_ADDRESS,
+              ServerAttributes.SERVER_PORT));
+
+  static final List<AttributeKey<?>> SERVER_DURATION_ATTRIBUTES =
+      unmodifiableList(
+          asList(
+              HttpAttributes.HTTP_ROUTE,
+              HttpAttributes.HTTP_REQUEST_METHOD,
+              HttpAttributes.HTTP_RESPONSE_STATUS_CODE,
+              ErrorAttributes.ERROR_TYPE,
+              NetworkAttributes.NETWORK_PROTOCOL_NAME,
+              NetworkAttributes.NETWORK_PROTOCOL_VERSION,
+              UrlAttributes.URL_SCHEME));
+
   static void applyClientDurationAdvice(DoubleHistogramBuilder builder) {
     if (!(builder instanceof ExtendedDoubleHistogramBuilder)) {
       return;
     }
-    ((ExtendedDoubleHistogramBuilder) builder)
-        .setAttributesAdvice(
-            asList(
-                HttpAttributes.HTTP_REQUEST_METHOD,
-                HttpAttributes.HTTP_RESPONSE_STATUS_CODE,
-                ErrorAttributes.ERROR_TYPE,
-                NetworkAttributes.NETWORK_PROTOCOL_NAME,
-                NetworkAttributes.NETWORK_PROTOCOL_VERSION,
-                ServerAttributes.SERVER_ADDRESS,
-                ServerAttributes.SERVER_PORT));
+    ((ExtendedDoubleHistogramBuilder) builder).setAttributesAdvice(CLIENT_DURATION_ATTRIBUTES);
   }
 
   static void applyServerDurationAdvice(DoubleHistogramBuilder builder) {
     if (!(builder instanceof ExtendedDoubleHistogramBuilder)) {
       return;
     }
-    ((ExtendedDoubleHistogramBuilder) builder)
-        .setAttributesAdvice(
-            asList(
-                HttpAttributes.HTTP_ROUTE,
-                HttpAttributes.HTTP_REQUEST_METHOD,
-                HttpAttributes.HTTP_RESPONSE_STATUS_CODE,
-                ErrorAttributes.ERROR_TYPE,
-                NetworkAttributes.NETWORK_PROTOCOL_NAME,
-                NetworkAttributes.NETWORK_PROTOCOL_VERSION,
-                UrlAttributes.URL_SCHEME));
+    ((ExtendedDoubleHistogramBuilder) builder).setAttributesAdvice(SERVER_DURATION_ATTRIBUTES);
   }
 
   private HttpMetricsAdvice() {}
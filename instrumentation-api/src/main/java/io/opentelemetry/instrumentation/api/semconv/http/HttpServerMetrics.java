@@ -20,6 +20,7 @@ import io.opentelemetry.instrumentation.api.instrumenter.OperationMetrics;
 import io.opentelemetry.instrumentation.api.internal.OperationMetricsUtil;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /**
  * {@link OperationListener} which keeps track of <a
@@ -48,6 +49,7 @@ public final class HttpServerMetrics implements OperationListener {
   }
 
   private final DoubleHistogram duration;
+  @Nullable private final HttpMetricAttributesCache attributesCache;
 
   private HttpServerMetrics(Meter meter) {
     DoubleHistogramBuilder stableDurationBuilder =
@@ -58,6 +60,8 @@ public final class HttpServerMetrics implements OperationListener {
             .setExplicitBucketBoundariesAdvice(HttpMetricsAdvice.DURATION_SECONDS_BUCKETS);
     HttpMetricsAdvice.applyServerDurationAdvice(stableDurationBuilder);
     duration = stableDurationBuilder.build();
+    attributesCache =
+        HttpMetricAttributesCache.createIfEnabled(HttpMetricsAdvice.SERVER_DURATION_ATTRIBUTES);
   }
 
   @Override
@@ -78,7 +82,10 @@ public final class HttpServerMetrics implements OperationListener {
       return;
     }
 
-    Attributes attributes = state.startAttributes().toBuilder().putAll(endAttributes).build();
+    Attributes attributes =
+        attributesCache != null
+            ? attributesCache.get(state.startAttributes(), endAttributes)
+            : state.startAttributes().toBuilder().putAll(endAttributes).build();
 
     duration.record((endNanos - state.startTimeNanos()) / NANOS_PER_S, attributes, context);
   }
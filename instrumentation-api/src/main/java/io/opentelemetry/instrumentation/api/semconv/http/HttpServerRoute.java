@@ -137,7 +137,8 @@ public final class HttpServerRoute {
   private static void updateSpanName(Span serverSpan, HttpRouteState httpRouteState, String route) {
     String method = httpRouteState.getMethod();
     // method should never really be null
-    serverSpan.updateName(method + " " + route);
+    serverSpan.updateName(
+        method != null ? HttpServerSpanNames.get(method, route) : method + " " + route);
   }
 
   /**
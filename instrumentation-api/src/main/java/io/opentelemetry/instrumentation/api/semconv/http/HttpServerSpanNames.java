@@ -0,0 +1,51 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.semconv.http;
+
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches the {@code {method} {route}} names of HTTP server spans, so that they're not concatenated
+ * for every request.
+ *
+ * <p>Only the routes that a {@link HttpServerRouteSource} reports are cached: these come from the
+ * framework's route templates and have a low cardinality, so after warming up nearly every lookup
+ * is a non-blocking read. Routes returned by {@link
+ * HttpServerAttributesGetter#getHttpRoute(Object)} are not cached, since some getters fall back to
+ * the raw path. The routes are still capped per method; a source that reports high-cardinality
+ * routes anyway makes every miss take the lock of its method's cache, which is the price of not
+ * letting such routes grow the cache without bounds.
+ */
+final class HttpServerSpanNames {
+
+  // the known methods plus the "HTTP" fallback; a custom set of known methods could be larger
+  private static final int MAX_METHODS = 16;
+  private static final int MAX_ROUTES_PER_METHOD = 1000;
+
+  private static final ConcurrentMap<String, Cache<String, String>> spanNames =
+      new ConcurrentHashMap<>();
+
+  static String get(String method, String route) {
+    Cache<String, String> routes = spanNames.get(method);
+    if (routes == null) {
+      if (spanNames.size() >= MAX_METHODS) {
+        return method + " " + route;
+      }
+      routes = spanNames.computeIfAbsent(method, unused -> Cache.bounded(MAX_ROUTES_PER_METHOD));
+    }
+    // not using computeIfAbsent(), the capturing lambda would be allocated on every call
+    String spanName = routes.get(route);
+    if (spanName == null) {
+      spanName = method + " " + route;
+      routes.put(route, spanName);
+    }
+    return spanName;
+  }
+
+  private HttpServerSpanNames() {}
+}
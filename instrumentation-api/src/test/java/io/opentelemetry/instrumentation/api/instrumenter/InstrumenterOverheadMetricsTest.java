@@ -0,0 +1,57 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter;
+
+import static io.opentelemetry.instrumentation.api.instrumenter.InstrumenterOverheadMetrics.INSTRUMENTATION_NAME_KEY;
+import static io.opentelemetry.instrumentation.api.instrumenter.InstrumenterOverheadMetrics.PHASE_KEY;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.equalTo;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import org.junit.jupiter.api.Test;
+
+class InstrumenterOverheadMetricsTest {
+
+  @Test
+  void recordsStartAndEndDurations() {
+    InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+    OpenTelemetry openTelemetry =
+        OpenTelemetrySdk.builder()
+            .setMeterProvider(SdkMeterProvider.builder().registerMetricReader(metricReader).build())
+            .build();
+
+    InstrumenterOverheadMetrics metrics = new InstrumenterOverheadMetrics(openTelemetry, "test");
+    long startNanos = System.nanoTime();
+    metrics.recordStart(startNanos);
+    metrics.recordStart(startNanos);
+    metrics.recordEnd(startNanos);
+
+    assertThat(metricReader.collectAllMetrics())
+        .satisfiesExactly(
+            metric ->
+                assertThat(metric)
+                    .hasName("otel.instrumentation.overhead.duration")
+                    .hasUnit("s")
+                    .hasHistogramSatisfying(
+                        histogram ->
+                            histogram.hasPointsSatisfying(
+                                point ->
+                                    point
+                                        .hasCount(2)
+                                        .hasAttributesSatisfyingExactly(
+                                            equalTo(INSTRUMENTATION_NAME_KEY, "test"),
+                                            equalTo(PHASE_KEY, "start")),
+                                point ->
+                                    point
+                                        .hasCount(1)
+                                        .hasAttributesSatisfyingExactly(
+                                            equalTo(INSTRUMENTATION_NAME_KEY, "test"),
+                                            equalTo(PHASE_KEY, "end")))));
+  }
+}
@@ -7,8 +7,14 @@ package io.opentelemetry.instrumentation.api.instrumenter;
 
 import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
 import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.equalTo;
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.opentelemetry.api.common.AttributeKey;
@@ -25,15 +31,20 @@ import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextKey;
 import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.instrumentation.api.internal.ExtractorPhasesProvider;
+import io.opentelemetry.instrumentation.api.internal.InstrumenterUtil;
 import io.opentelemetry.instrumentation.api.internal.SchemaUrlProvider;
 import io.opentelemetry.instrumentation.api.internal.SpanKey;
 import io.opentelemetry.instrumentation.api.internal.SpanKeyProvider;
+import io.opentelemetry.instrumentation.api.internal.SpanOnlyAttributesProvider;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
 import io.opentelemetry.sdk.testing.junit5.OpenTelemetryExtension;
 import io.opentelemetry.sdk.trace.data.LinkData;
 import io.opentelemetry.sdk.trace.data.StatusData;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -152,6 +163,54 @@ class InstrumenterTest {
     }
   }
 
+  static class SpanOnlyAttributesExtractor
+      implements AttributesExtractor<Map<String, String>, Map<String, String>>,
+          SpanOnlyAttributesProvider {
+
+    int startCalls;
+    int endCalls;
+
+    @Override
+    public void onStart(
+        AttributesBuilder attributes, Context parentContext, Map<String, String> request) {
+      startCalls++;
+      attributes.put("span_only_req", request.get("req1"));
+    }
+
+    @Override
+    public void onEnd(
+        AttributesBuilder attributes,
+        Context context,
+        Map<String, String> request,
+        Map<String, String> response,
+        @Nullable Throwable error) {
+      endCalls++;
+      attributes.put("span_only_resp", response.get("resp1"));
+    }
+
+    @Override
+    public boolean internalExtractsSpanOnlyAttributes() {
+      return true;
+    }
+  }
+
+  static class RecordingOperationListener implements OperationListener {
+
+    final Map<String, String> startAttributes = new HashMap<>();
+    final Map<String, String> endAttributes = new HashMap<>();
+
+    @Override
+    public Context onStart(Context context, Attributes attributes, long startNanos) {
+      attributes.forEach((key, value) -> startAttributes.put(key.getKey(), value.toString()));
+      return context;
+    }
+
+    @Override
+    public void onEnd(Context context, Attributes attributes, long endNanos) {
+      attributes.forEach((key, value) -> endAttributes.put(key.getKey(), value.toString()));
+    }
+  }
+
   static class MapGetter implements TextMapGetter<Map<String, String>> {
 
     @Override
@@ -176,6 +235,9 @@ class InstrumenterTest {
 
   @Mock AttributesExtractor<Map<String, String>, Map<String, String>> mockNetClientAttributes;
 
+  @Mock(extraInterfaces = ExtractorPhasesProvider.class)
+  AttributesExtractor<Map<String, String>, Map<String, String>> mockStartOnlyAttributes;
+
   @Test
   void server() {
     Instrumenter<Map<String, String>, Map<String, String>> instrumenter =
@@ -555,6 +617,26 @@ class InstrumenterTest {
     assertThat(instrumenter.shouldStart(Context.root(), "request")).isFalse();
   }
 
+  @Test
+  void shouldSkipAttributesExtractorInPhaseItDoesNotExtractIn() {
+    when(((ExtractorPhasesProvider) mockStartOnlyAttributes).internalExtractsOnStart())
+        .thenReturn(true);
+    when(((ExtractorPhasesProvider) mockStartOnlyAttributes).internalExtractsOnEnd())
+        .thenReturn(false);
+
+    Instrumenter<Map<String, String>, Map<String, String>> instrumenter =
+        Instrumenter.<Map<String, String>, Map<String, String>>builder(
+                otelTesting.getOpenTelemetry(), "test", unused -> "span")
+            .addAttributesExtractor(mockStartOnlyAttributes)
+            .buildInstrumenter();
+
+    Context context = instrumenter.start(Context.root(), REQUEST);
+    instrumenter.end(context, REQUEST, RESPONSE, null);
+
+    verify(mockStartOnlyAttributes).onStart(any(), any(), eq(REQUEST));
+    verify(mockStartOnlyAttributes, never()).onEnd(any(), any(), any(), any(), any());
+  }
+
   @Test
   void instrumentationVersion_default() {
     InstrumenterBuilder<Map<String, String>, Map<String, String>> builder =
@@ -703,6 +785,243 @@ class InstrumenterTest {
     assertThatSpanKeyWasStored(SpanKey.HTTP_CLIENT, context);
   }
 
+  @Test
+  void constantAttributesKeepExtractorOrder() {
+    AttributeKey<String> first = AttributeKey.stringKey("first");
+    AttributeKey<String> second = AttributeKey.stringKey("second");
+    AttributeKey<String> third = AttributeKey.stringKey("third");
+    AttributesExtractor<String, String> dynamic =
+        new AttributesExtractor<String, String>() {
+          @Override
+          public void onStart(AttributesBuilder attributes, Context parentContext, String request) {
+            attributes.put(first, request);
+            attributes.put(second, request);
+          }
+
+          @Override
+          public void onEnd(
+              AttributesBuilder attributes,
+              Context context,
+              String request,
+              @Nullable String response,
+              @Nullable Throwable error) {}
+        };
+
+    Instrumenter<String, String> instrumenter =
+        Instrumenter.<String, String>builder(
+                otelTesting.getOpenTelemetry(), "test", request -> "test span")
+            .addAttributesExtractor(AttributesExtractor.constant(second, "constant"))
+            .addAttributesExtractor(dynamic)
+            .addAttributesExtractor(AttributesExtractor.constant(first, "constant"))
+            .addAttributesExtractor(AttributesExtractor.constant(third, "constant"))
+            .buildInstrumenter();
+
+    Context context = instrumenter.start(Context.root(), "dynamic");
+    instrumenter.end(context, "dynamic", "response", null);
+
+    otelTesting
+        .assertTraces()
+        .hasTracesSatisfyingExactly(
+            trace ->
+                trace.hasSpansSatisfyingExactly(
+                    span ->
+                        span.hasName("test span")
+                            .hasAttributesSatisfyingExactly(
+                                equalTo(first, "constant"),
+                                equalTo(second, "dynamic"),
+                                equalTo(third, "constant"))));
+  }
+
+  @Test
+  void batch() {
+    Instrumenter<String, String> instrumenter =
+        Instrumenter.<String, String>builder(otelTesting.getOpenTelemetry(), "test", r -> r)
+            .buildInstrumenter();
+
+    Context parentContext = Context.root().with(Span.wrap(expectedSpanLink().getSpanContext()));
+    List<String> requests = asList("first", "second");
+    List<Context> contexts =
+        InstrumenterUtil.startAll(
+            instrumenter,
+            parentContext,
+            requests,
+            asList(Instant.ofEpochSecond(100), Instant.ofEpochSecond(200)));
+    assertThat(contexts).hasSize(2).doesNotContainNull();
+    InstrumenterUtil.endAll(
+        instrumenter,
+        contexts,
+        requests,
+        "response",
+        new IllegalStateException("test"),
+        asList(Instant.ofEpochSecond(150), Instant.ofEpochSecond(250)));
+
+    otelTesting
+        .assertTraces()
+        .hasTracesSatisfyingExactly(
+            trace ->
+                trace.hasSpansSatisfyingExactlyInAnyOrder(
+                    span ->
+                        span.hasName("first")
+                            .hasParentSpanId(LINK_SPAN_ID)
+                            .startsAt(Instant.ofEpochSecond(100))
+                            .endsAt(Instant.ofEpochSecond(150))
+                            .hasStatus(StatusData.error()),
+                    span ->
+                        span.hasName("second")
+                            .hasParentSpanId(LINK_SPAN_ID)
+                            .startsAt(Instant.ofEpochSecond(200))
+                            .endsAt(Instant.ofEpochSecond(250))
+                            .hasStatus(StatusData.error())));
+  }
+
+  @Test
+  void batchShouldNotStartSuppressedOperations() {
+    when(((SpanKeyProvider) mockHttpClientAttributes).internalGetSpanKey())
+        .thenReturn(SpanKey.HTTP_CLIENT);
+
+    Instrumenter<Map<String, String>, Map<String, String>> instrumenter =
+        Instrumenter.<Map<String, String>, Map<String, String>>builder(
+                otelTesting.getOpenTelemetry(), "test", unused -> "span")
+            .addAttributesExtractor(mockHttpClientAttributes)
+            .buildInstrumenter(SpanKindExtractor.alwaysClient());
+
+    Context parentContext = SpanKey.HTTP_CLIENT.storeInContext(Context.root(), Span.getInvalid());
+    List<Map<String, String>> requests = asList(REQUEST, REQUEST);
+    List<Instant> times = asList(Instant.ofEpochSecond(100), Instant.ofEpochSecond(200));
+    List<Context> contexts =
+        InstrumenterUtil.startAll(instrumenter, parentContext, requests, times);
+    assertThat(contexts).containsExactly(null, null);
+    InstrumenterUtil.endAll(instrumenter, contexts, requests, RESPONSE, null, times);
+
+    assertThat(otelTesting.getSpans()).isEmpty();
+    verify(mockHttpClientAttributes, never()).onStart(any(), any(), any());
+    verify(mockHttpClientAttributes, never()).onEnd(any(), any(), any(), any(), any());
+  }
+
+  @Test
+  void batchShouldEndStartedOperationsWhenStartFails() {
+    Instrumenter<String, String> instrumenter =
+        Instrumenter.<String, String>builder(
+                otelTesting.getOpenTelemetry(),
+                "test",
+                request -> {
+                  if (request.equals("fail")) {
+                    throw new IllegalStateException("test");
+                  }
+                  return request;
+                })
+            .buildInstrumenter();
+
+    List<Instant> times = asList(Instant.ofEpochSecond(100), Instant.ofEpochSecond(200));
+    assertThatThrownBy(
+            () ->
+                InstrumenterUtil.startAll(
+                    instrumenter, Context.root(), asList("first", "fail"), times))
+        .isInstanceOf(IllegalStateException.class);
+
+    otelTesting
+        .assertTraces()
+        .hasTracesSatisfyingExactly(
+            trace ->
+                trace.hasSpansSatisfyingExactly(
+                    span -> span.hasName("first").startsAt(Instant.ofEpochSecond(100))));
+  }
+
+  @Test
+  void batchShouldRejectMismatchedSizes() {
+    Instrumenter<String, String> instrumenter =
+        Instrumenter.<String, String>builder(otelTesting.getOpenTelemetry(), "test", r -> r)
+            .buildInstrumenter();
+
+    assertThatThrownBy(
+            () ->
+                InstrumenterUtil.startAll(
+                    instrumenter,
+                    Context.root(),
+                    asList("first", "second"),
+                    Collections.singletonList(Instant.ofEpochSecond(100))))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(otelTesting.getSpans()).isEmpty();
+  }
+
+  @Test
+  void spanOnlyAttributesAreNotExtractedForNonRecordingSpans() {
+    SpanOnlyAttributesExtractor spanOnlyExtractor = new SpanOnlyAttributesExtractor();
+    RecordingOperationListener operationListener = new RecordingOperationListener();
+
+    Instrumenter<Map<String, String>, Map<String, String>> instrumenter =
+        Instrumenter.<Map<String, String>, Map<String, String>>builder(
+                otelTesting.getOpenTelemetry(), "test", unused -> "span")
+            .addAttributesExtractor(new AttributesExtractor1())
+            .addAttributesExtractor(spanOnlyExtractor)
+            .addOperationListener(operationListener)
+            .setSkipUnsampledSpanAttributes(true)
+            .buildInstrumenter();
+
+    // the default parent based sampler drops children of unsampled parents
+    Context parentContext =
+        Context.root()
+            .with(
+                Span.wrap(
+                    SpanContext.createFromRemoteParent(
+                        "ff01020304050600ff0a0b0c0d0e0f00",
+                        "090a0b0c0d0e0f00",
+                        TraceFlags.getDefault(),
+                        TraceState.getDefault())));
+    Context context = instrumenter.start(parentContext, REQUEST);
+    assertThat(Span.fromContext(context).isRecording()).isFalse();
+    instrumenter.end(context, REQUEST, RESPONSE, null);
+
+    assertThat(spanOnlyExtractor.startCalls).isEqualTo(0);
+    assertThat(spanOnlyExtractor.endCalls).isEqualTo(0);
+    assertThat(operationListener.startAttributes)
+        .containsEntry("req1", "req1_value")
+        .containsEntry("req2", "req2_value");
+    assertThat(operationListener.endAttributes)
+        .containsEntry("resp1", "resp1_value")
+        .containsEntry("resp2", "resp2_value");
+  }
+
+  @Test
+  void spanOnlyAttributesAreExtractedForRecordingSpans() {
+    SpanOnlyAttributesExtractor spanOnlyExtractor = new SpanOnlyAttributesExtractor();
+    RecordingOperationListener operationListener = new RecordingOperationListener();
+
+    Instrumenter<Map<String, String>, Map<String, String>> instrumenter =
+        Instrumenter.<Map<String, String>, Map<String, String>>builder(
+                otelTesting.getOpenTelemetry(), "test", unused -> "span")
+            .addAttributesExtractor(new AttributesExtractor1())
+            .addAttributesExtractor(spanOnlyExtractor)
+            .addOperationListener(operationListener)
+            .setSkipUnsampledSpanAttributes(true)
+            .buildInstrumenter();
+
+    Context context = instrumenter.start(Context.root(), REQUEST);
+    assertThat(Span.fromContext(context).isRecording()).isTrue();
+    instrumenter.end(context, REQUEST, RESPONSE, null);
+
+    assertThat(spanOnlyExtractor.startCalls).isEqualTo(1);
+    assertThat(spanOnlyExtractor.endCalls).isEqualTo(1);
+    otelTesting
+        .assertTraces()
+        .hasTracesSatisfyingExactly(
+            trace ->
+                trace.hasSpansSatisfyingExactly(
+                    span ->
+                        span.hasName("span")
+                            .hasAttributesSatisfyingExactly(
+                                equalTo(AttributeKey.stringKey("req1"), "req1_value"),
+                                equalTo(AttributeKey.stringKey("req2"), "req2_value"),
+                                equalTo(AttributeKey.stringKey("resp1"), "resp1_value"),
+                                equalTo(AttributeKey.stringKey("resp2"), "resp2_value"),
+                                equalTo(AttributeKey.stringKey("span_only_req"), "req1_value"),
+                                equalTo(
+                                    AttributeKey.stringKey("span_only_resp"), "resp1_value"))));
+    // operation listeners never see the span-only attributes
+    assertThat(operationListener.startAttributes).containsOnlyKeys("req1", "req2");
+    assertThat(operationListener.endAttributes).containsOnlyKeys("resp1", "resp2");
+  }
+
   private static void assertThatSpanKeyWasStored(SpanKey spanKey, Context context) {
     Span span = Span.fromContext(context);
     assertThat(span).isNotNull();
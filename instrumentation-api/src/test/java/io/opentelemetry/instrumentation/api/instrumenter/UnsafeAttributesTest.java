@@ -83,4 +83,24 @@ class UnsafeAttributesTest {
             attributeEntry("lives", 9L),
             attributeEntry("clothes", "fur"));
   }
+
+  @Test
+  void manyEntries() {
+    UnsafeAttributes attributes = new UnsafeAttributes();
+    for (int i = 0; i < 100; i++) {
+      attributes.put(AttributeKey.longKey("key" + i), (long) i);
+    }
+    // overwrite every other entry after the table has grown
+    for (int i = 0; i < 100; i += 2) {
+      attributes.put(AttributeKey.longKey("key" + i), (long) -i);
+    }
+
+    assertThat(attributes.size()).isEqualTo(100);
+    for (int i = 0; i < 100; i++) {
+      assertThat(attributes.get(AttributeKey.longKey("key" + i)))
+          .isEqualTo(i % 2 == 0 ? -i : (long) i);
+    }
+    assertThat(attributes.get(AttributeKey.longKey("missing"))).isNull();
+    assertThat(attributes.asMap()).hasSize(100);
+  }
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.sdk.testing.junit5.OpenTelemetryExtension;
+import io.opentelemetry.sdk.trace.data.EventData;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+class ExceptionRecordingPolicyTest {
+
+  private static final AttributeKey<String> EXCEPTION_TYPE = stringKey("exception.type");
+  private static final AttributeKey<String> EXCEPTION_MESSAGE = stringKey("exception.message");
+  private static final AttributeKey<String> EXCEPTION_STACKTRACE =
+      stringKey("exception.stacktrace");
+
+  @RegisterExtension
+  static final OpenTelemetryExtension otelTesting = OpenTelemetryExtension.create();
+
+  private final AtomicLong nanoTime = new AtomicLong();
+
+  @Test
+  void defaultPolicyRecordsFullStackTrace() {
+    IllegalStateException error = new IllegalStateException("boom");
+
+    EventData event = record(ExceptionRecordingPolicy.getDefault(), error);
+
+    assertThat(event.getAttributes().get(EXCEPTION_TYPE))
+        .isEqualTo(IllegalStateException.class.getName());
+    assertThat(event.getAttributes().get(EXCEPTION_MESSAGE)).isEqualTo("boom");
+    assertThat(event.getAttributes().get(EXCEPTION_STACKTRACE))
+        .contains("ExceptionRecordingPolicyTest.defaultPolicyRecordsFullStackTrace");
+  }
+
+  @Test
+  void limitsStackTraceDepth() {
+    ExceptionRecordingPolicy policy =
+        new ExceptionRecordingPolicy(2, Integer.MAX_VALUE, 0, nanoTime::get);
+    RuntimeException error = new RuntimeException("outer", new IllegalStateException("inner"));
+
+    String stackTrace = record(policy, error).getAttributes().get(EXCEPTION_STACKTRACE);
+
+    assertThat(stackTrace)
+        .startsWith("java.lang.RuntimeException: outer")
+        .contains("Caused by: java.lang.IllegalStateException: inner");
+    assertThat(stackTrace.split("\tat ")).hasSize(5);
+    assertThat(stackTrace).contains("\t... " + (error.getStackTrace().length - 2) + " more");
+  }
+
+  @Test
+  void formatsLikePrintStackTrace() {
+    ExceptionRecordingPolicy policy =
+        new ExceptionRecordingPolicy(1000, Integer.MAX_VALUE, 0, nanoTime::get);
+    RuntimeException error = new RuntimeException("outer", new IllegalStateException("inner"));
+    error.addSuppressed(new IllegalArgumentException("suppressed"));
+
+    String stackTrace = record(policy, error).getAttributes().get(EXCEPTION_STACKTRACE);
+
+    StringWriter expected = new StringWriter();
+    error.printStackTrace(new PrintWriter(expected, true));
+    assertThat(stackTrace)
+        .isEqualTo(expected.toString())
+        .contains("\tSuppressed: java.lang.IllegalArgumentException: suppressed");
+  }
+
+  @Test
+  void rateLimitsStackTracesPerType() {
+    ExceptionRecordingPolicy policy =
+        new ExceptionRecordingPolicy(Integer.MAX_VALUE, 2, 0, nanoTime::get);
+
+    assertThat(stackTrace(policy, new IllegalStateException())).isNotNull();
+    assertThat(stackTrace(policy, new IllegalStateException())).isNotNull();
+    EventData limited = record(policy, new IllegalStateException("limited"));
+    assertThat(limited.getAttributes().get(EXCEPTION_STACKTRACE)).isNull();
+    assertThat(limited.getAttributes().get(EXCEPTION_TYPE))
+        .isEqualTo(IllegalStateException.class.getName());
+    assertThat(limited.getAttributes().get(EXCEPTION_MESSAGE)).isEqualTo("limited");
+    // other types have their own limit
+    assertThat(stackTrace(policy, new IllegalArgumentException())).isNotNull();
+
+    nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    assertThat(stackTrace(policy, new IllegalStateException())).isNotNull();
+  }
+
+  @Test
+  void deduplicatesStackTraces() {
+    ExceptionRecordingPolicy policy =
+        new ExceptionRecordingPolicy(
+            Integer.MAX_VALUE, Integer.MAX_VALUE, TimeUnit.SECONDS.toNanos(10), nanoTime::get);
+
+    List<String> stackTraces = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      // identical stack traces
+      stackTraces.add(stackTrace(policy, new IllegalStateException("duplicate " + i)));
+      if (i == 1) {
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(10));
+      }
+    }
+    assertThat(stackTraces.get(0)).isNotNull();
+    assertThat(stackTraces.get(1)).isNull();
+    assertThat(stackTraces.get(2)).isNotNull();
+    // thrown from a different place
+    assertThat(stackTrace(policy, new IllegalStateException())).isNotNull();
+  }
+
+  @Test
+  void invalidSettings() {
+    assertThatThrownBy(() -> ExceptionRecordingPolicy.builder().setMaxStackTraceDepth(-1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> ExceptionRecordingPolicy.builder().setMaxStackTracesPerSecond(-1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () -> ExceptionRecordingPolicy.builder().setDeduplicationWindow(Duration.ofSeconds(-1)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Nullable
+  private static String stackTrace(ExceptionRecordingPolicy policy, Throwable error) {
+    return record(policy, error).getAttributes().get(EXCEPTION_STACKTRACE);
+  }
+
+  private static EventData record(ExceptionRecordingPolicy policy, Throwable error) {
+    otelTesting.clearSpans();
+    Span span = otelTesting.getOpenTelemetry().getTracer("test").spanBuilder("test").startSpan();
+    policy.record(span, error);
+    span.end();
+    List<EventData> events = otelTesting.getSpans().get(0).getEvents();
+    assertThat(events).hasSize(1);
+    assertThat(events.get(0).getName()).isEqualTo("exception");
+    return events.get(0);
+  }
+}
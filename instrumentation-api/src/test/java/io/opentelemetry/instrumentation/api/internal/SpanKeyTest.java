@@ -0,0 +1,62 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import org.junit.jupiter.api.Test;
+
+class SpanKeyTest {
+
+  private static final Span CLIENT_SPAN = span("0000000000000001");
+  private static final Span HTTP_CLIENT_SPAN = span("0000000000000002");
+
+  @Test
+  void storesSpansPerKey() {
+    Context context = SpanKey.KIND_CLIENT.storeInContext(Context.root(), CLIENT_SPAN);
+    Context httpContext = SpanKey.HTTP_CLIENT.storeInContext(context, HTTP_CLIENT_SPAN);
+
+    assertThat(SpanKey.KIND_CLIENT.fromContextOrNull(httpContext)).isSameAs(CLIENT_SPAN);
+    assertThat(SpanKey.HTTP_CLIENT.fromContextOrNull(httpContext)).isSameAs(HTTP_CLIENT_SPAN);
+    assertThat(SpanKey.DB_CLIENT.fromContextOrNull(httpContext)).isNull();
+    // the parent context is not modified
+    assertThat(SpanKey.HTTP_CLIENT.fromContextOrNull(context)).isNull();
+    assertThat(SpanKey.KIND_CLIENT.fromContextOrNull(Context.root())).isNull();
+  }
+
+  @Test
+  void storesAndChecksSeveralKeysAtOnce() {
+    int mask = SpanKey.mask(asList(SpanKey.KIND_CLIENT, SpanKey.HTTP_CLIENT));
+
+    Context context = SpanKey.storeInContext(Context.root(), mask, CLIENT_SPAN);
+
+    assertThat(SpanKey.allPresentInContext(context, mask)).isTrue();
+    assertThat(SpanKey.allPresentInContext(context, SpanKey.mask(asList(SpanKey.HTTP_CLIENT))))
+        .isTrue();
+    assertThat(
+            SpanKey.allPresentInContext(
+                context, SpanKey.mask(asList(SpanKey.HTTP_CLIENT, SpanKey.DB_CLIENT))))
+        .isFalse();
+    assertThat(SpanKey.allPresentInContext(Context.root(), mask)).isFalse();
+    assertThat(SpanKey.KIND_CLIENT.fromContextOrNull(context)).isSameAs(CLIENT_SPAN);
+    assertThat(SpanKey.HTTP_CLIENT.fromContextOrNull(context)).isSameAs(CLIENT_SPAN);
+  }
+
+  private static Span span(String spanId) {
+    return Span.wrap(
+        SpanContext.create(
+            "00000000000000000000000000000001",
+            spanId,
+            TraceFlags.getSampled(),
+            TraceState.getDefault()));
+  }
+}
@@ -5,11 +5,17 @@
 
 package io.opentelemetry.instrumentation.api.internal;
 
-import static org.assertj.core.api.Assertions.assertThat;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
 
 import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.Test;
 
 class SupportabilityMetricsTest {
@@ -55,6 +61,65 @@ class SupportabilityMetricsTest {
             "Counter 'another counter' : 1");
   }
 
+  @Test
+  void reportsRegisteredCountersAndGauges() {
+    List<String> reports = new ArrayList<>();
+    SupportabilityMetrics metrics = new SupportabilityMetrics(true, reports::add);
+    AtomicLong evictions = new AtomicLong();
+    AtomicLong weight = new AtomicLong();
+
+    metrics.registerCounter("evictions", evictions::get);
+    metrics.registerGauge("weight", weight::get);
+    evictions.set(3);
+    weight.set(42);
+    metrics.report();
+    evictions.set(5);
+    metrics.report();
+
+    assertThat(reports)
+        .containsExactlyInAnyOrder(
+            "Counter 'evictions' : 3",
+            "Gauge 'weight' : 42",
+            "Counter 'evictions' : 2",
+            "Gauge 'weight' : 42");
+  }
+
+  @Test
+  void exportsMetrics() {
+    InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+    OpenTelemetrySdk openTelemetry =
+        OpenTelemetrySdk.builder()
+            .setMeterProvider(SdkMeterProvider.builder().registerMetricReader(metricReader).build())
+            .build();
+    SupportabilityMetrics metrics = new SupportabilityMetrics(false, true, report -> {});
+
+    metrics.incrementCounter("some.counter");
+    metrics.registerGauge("some.gauge", () -> 42);
+    metrics.registerMetrics(openTelemetry);
+    // counters created after the registration are exported too
+    metrics.incrementCounter("another.counter");
+    metrics.incrementCounter("some.counter");
+
+    Collection<MetricData> metricData = metricReader.collectAllMetrics();
+    assertThat(metricData)
+        .satisfiesExactlyInAnyOrder(
+            metric ->
+                assertThat(metric)
+                    .hasName("some.counter")
+                    .hasLongSumSatisfying(
+                        sum -> sum.isMonotonic().hasPointsSatisfying(point -> point.hasValue(2))),
+            metric ->
+                assertThat(metric)
+                    .hasName("another.counter")
+                    .hasLongSumSatisfying(
+                        sum -> sum.isMonotonic().hasPointsSatisfying(point -> point.hasValue(1))),
+            metric ->
+                assertThat(metric)
+                    .hasName("some.gauge")
+                    .hasLongGaugeSatisfying(
+                        gauge -> gauge.hasPointsSatisfying(point -> point.hasValue(42))));
+  }
+
   @Test
   void resetsCountsEachReport() {
     List<String> reports = new ArrayList<>();
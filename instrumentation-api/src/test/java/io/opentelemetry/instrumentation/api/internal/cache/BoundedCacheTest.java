@@ -0,0 +1,136 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.Test;
+
+class BoundedCacheTest {
+
+  @Test
+  void staysWithinCapacity() {
+    BoundedCache<Integer, Integer> cache = new BoundedCache<>(100);
+
+    for (int i = 0; i < 10_000; i++) {
+      cache.put(i, i);
+      assertThat(cache.size()).isLessThanOrEqualTo(100);
+    }
+    // the most recently added entry is always kept
+    assertThat(cache.get(9_999)).isEqualTo(9_999);
+  }
+
+  @Test
+  void keepsFrequentlyUsedEntriesDuringScan() {
+    BoundedCache<Integer, Integer> cache = new BoundedCache<>(100);
+
+    for (int round = 0; round < 20; round++) {
+      for (int i = 0; i < 50; i++) {
+        cache.computeIfAbsent(i, key -> key);
+      }
+    }
+    // a scan over many entries that are only used once
+    for (int i = 1_000; i < 100_000; i++) {
+      cache.computeIfAbsent(i, key -> key);
+    }
+
+    int hits = 0;
+    for (int i = 0; i < 50; i++) {
+      if (cache.get(i) != null) {
+        hits++;
+      }
+    }
+    assertThat(hits).isGreaterThanOrEqualTo(45);
+  }
+
+  @Test
+  void putReplacesValue() {
+    BoundedCache<String, String> cache = new BoundedCache<>(10);
+
+    cache.put("cat", "meow");
+    cache.put("cat", "purr");
+
+    assertThat(cache.get("cat")).isEqualTo("purr");
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  void staysWithinMaximumWeight() {
+    WeightedCache<String, String> cache = Cache.weighted(1_000, (key, value) -> key.length());
+
+    for (int i = 0; i < 10_000; i++) {
+      cache.put("key-" + i, "value");
+      assertThat(cache.weightedSize()).isLessThanOrEqualTo(1_000);
+    }
+    assertThat(cache.evictionCount()).isGreaterThan(0);
+
+    // an entry that is heavier than the whole cache is not kept
+    StringBuilder huge = new StringBuilder();
+    for (int i = 0; i < 2_000; i++) {
+      huge.append('x');
+    }
+    cache.put(huge.toString(), "value");
+    assertThat(cache.get(huge.toString())).isNull();
+    assertThat(cache.weightedSize()).isLessThanOrEqualTo(1_000);
+  }
+
+  @Test
+  void removeReleasesWeight() {
+    WeightedCache<String, String> cache = Cache.weighted(100, (key, value) -> value.length());
+
+    cache.put("cat", "meow");
+    cache.put("dog", "woof woof");
+    assertThat(cache.weightedSize()).isEqualTo(13);
+
+    cache.put("dog", "woof");
+    assertThat(cache.weightedSize()).isEqualTo(8);
+
+    cache.remove("cat");
+    assertThat(cache.weightedSize()).isEqualTo(4);
+    assertThat(cache.evictionCount()).isEqualTo(0);
+  }
+
+  @Test
+  void concurrentAccess() throws Exception {
+    BoundedCache<Integer, Integer> cache = new BoundedCache<>(500);
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  ThreadLocalRandom random = ThreadLocalRandom.current();
+                  for (int i = 0; i < 100_000; i++) {
+                    int key = random.nextInt(2_000);
+                    int operation = random.nextInt(10);
+                    if (operation < 7) {
+                      assertThat(cache.computeIfAbsent(key, k -> k)).isEqualTo(key);
+                    } else if (operation < 9) {
+                      cache.put(key, key);
+                    } else {
+                      cache.remove(key);
+                    }
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(cache.size()).isLessThanOrEqualTo(500);
+  }
+}
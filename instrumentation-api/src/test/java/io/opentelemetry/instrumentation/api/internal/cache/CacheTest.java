@@ -23,16 +23,16 @@ class CacheTest {
       assertThat(cache.computeIfAbsent("bear", unused -> "roar")).isEqualTo("roar");
       cache.remove("bear");
 
-      MapBackedCache<?, ?> mapBackedCache = ((MapBackedCache<?, ?>) cache);
+      BoundedCache<?, ?> boundedCache = ((BoundedCache<?, ?>) cache);
       assertThat(cache.computeIfAbsent("cat", unused -> "meow")).isEqualTo("meow");
-      assertThat(mapBackedCache.size()).isEqualTo(1);
+      assertThat(boundedCache.size()).isEqualTo(1);
 
       assertThat(cache.computeIfAbsent("cat", unused -> "bark")).isEqualTo("meow");
-      assertThat(mapBackedCache.size()).isEqualTo(1);
+      assertThat(boundedCache.size()).isEqualTo(1);
 
       cache.put("dog", "bark");
       assertThat(cache.get("dog")).isEqualTo("bark");
-      assertThat(mapBackedCache.size()).isEqualTo(1);
+      assertThat(boundedCache.size()).isEqualTo(1);
       assertThat(cache.computeIfAbsent("cat", unused -> "purr")).isEqualTo("purr");
     }
   }
@@ -0,0 +1,44 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class FrequencySketchTest {
+
+  @Test
+  void countsAccesses() {
+    FrequencySketch sketch = new FrequencySketch(64);
+
+    for (int i = 0; i < 20; i++) {
+      sketch.increment("popular");
+    }
+    sketch.increment("rare");
+
+    // counters saturate at 15
+    assertThat(sketch.frequency("popular")).isEqualTo(15);
+    assertThat(sketch.frequency("rare")).isEqualTo(1);
+    assertThat(sketch.frequency("unknown")).isEqualTo(0);
+  }
+
+  @Test
+  void keepsFrequenciesWhenGrowing() {
+    FrequencySketch sketch = new FrequencySketch(0);
+    for (int i = 0; i < 5; i++) {
+      sketch.increment("popular");
+    }
+
+    for (int capacity = 2; capacity <= 4096; capacity *= 2) {
+      int before = sketch.frequency("popular");
+      sketch.ensureCapacity(capacity);
+      assertThat(sketch.frequency("popular")).isEqualTo(before);
+      sketch.increment("key" + capacity);
+    }
+    assertThat(sketch.frequency("popular")).isGreaterThanOrEqualTo(5);
+  }
+}
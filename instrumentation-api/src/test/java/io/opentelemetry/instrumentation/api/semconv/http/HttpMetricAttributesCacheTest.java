@@ -0,0 +1,78 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.semconv.http;
+
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.semconv.HttpAttributes;
+import io.opentelemetry.semconv.UrlAttributes;
+import org.junit.jupiter.api.Test;
+
+class HttpMetricAttributesCacheTest {
+
+  private final HttpMetricAttributesCache cache =
+      new HttpMetricAttributesCache(HttpMetricsAdvice.SERVER_DURATION_ATTRIBUTES);
+
+  @Test
+  void keepsOnlyMetricAttributes() {
+    Attributes start =
+        Attributes.builder()
+            .put(HttpAttributes.HTTP_REQUEST_METHOD, "GET")
+            .put(HttpAttributes.HTTP_RESPONSE_STATUS_CODE, 100L)
+            .put(UrlAttributes.URL_PATH, "/users/1")
+            .build();
+    Attributes end =
+        Attributes.builder()
+            .put(HttpAttributes.HTTP_ROUTE, "/users/{id}")
+            .put(HttpAttributes.HTTP_RESPONSE_STATUS_CODE, 200L)
+            .build();
+
+    assertThat(cache.get(start, end))
+        .isEqualTo(
+            Attributes.of(
+                HttpAttributes.HTTP_REQUEST_METHOD,
+                "GET",
+                HttpAttributes.HTTP_ROUTE,
+                "/users/{id}",
+                HttpAttributes.HTTP_RESPONSE_STATUS_CODE,
+                200L));
+  }
+
+  @Test
+  void reusesAttributesOfSameDimensions() {
+    Attributes first =
+        cache.get(
+            Attributes.of(
+                HttpAttributes.HTTP_REQUEST_METHOD, "GET", UrlAttributes.URL_PATH, "/users/1"),
+            Attributes.of(HttpAttributes.HTTP_ROUTE, "/users/{id}"));
+    Attributes second =
+        cache.get(
+            Attributes.of(
+                HttpAttributes.HTTP_REQUEST_METHOD, "GET", UrlAttributes.URL_PATH, "/users/2"),
+            Attributes.of(HttpAttributes.HTTP_ROUTE, "/users/{id}"));
+    Attributes other =
+        cache.get(
+            Attributes.of(
+                HttpAttributes.HTTP_REQUEST_METHOD, "POST", UrlAttributes.URL_PATH, "/users/2"),
+            Attributes.of(HttpAttributes.HTTP_ROUTE, "/users/{id}"));
+
+    assertThat(second).isSameAs(first);
+    assertThat(other).isNotSameAs(first);
+    assertThat(other).containsEntry(HttpAttributes.HTTP_REQUEST_METHOD, "POST");
+  }
+
+  @Test
+  void buildsAttributesWhenFull() {
+    for (long i = 0; i < 10_000; i++) {
+      Attributes attributes =
+          cache.get(
+              Attributes.of(HttpAttributes.HTTP_REQUEST_METHOD, "GET"),
+              Attributes.of(HttpAttributes.HTTP_RESPONSE_STATUS_CODE, i));
+      assertThat(attributes).containsEntry(HttpAttributes.HTTP_RESPONSE_STATUS_CODE, i);
+    }
+  }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.semconv.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class HttpServerSpanNamesTest {
+
+  @Test
+  void reusesSpanNames() {
+    String spanName = HttpServerSpanNames.get("GET", "/users/{id}");
+
+    assertThat(spanName).isEqualTo("GET /users/{id}");
+    assertThat(HttpServerSpanNames.get("GET", "/users/{id}")).isSameAs(spanName);
+    assertThat(HttpServerSpanNames.get("POST", "/users/{id}")).isEqualTo("POST /users/{id}");
+  }
+
+  @Test
+  void highCardinalityRoutes() {
+    for (int i = 0; i < 10_000; i++) {
+      assertThat(HttpServerSpanNames.get("PUT", "/items/" + i)).isEqualTo("PUT /items/" + i);
+    }
+  }
+}
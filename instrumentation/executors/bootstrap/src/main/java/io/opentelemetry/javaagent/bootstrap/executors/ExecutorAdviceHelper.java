@@ -17,6 +17,9 @@ import javax.annotation.Nullable;
  */
 public final class ExecutorAdviceHelper {
 
+  // only ever set on the carrier threads of virtual threads, which switch between the two states
+  // every time a virtual thread is mounted or unmounted; the entry is kept (rather than removed)
+  // so that switching doesn't allocate
   private static final ThreadLocal<Boolean> propagationDisabled = new ThreadLocal<>();
 
   /**
@@ -32,12 +35,12 @@ public final class ExecutorAdviceHelper {
    * #disablePropagation()}.
    */
   public static void enablePropagation() {
-    propagationDisabled.remove();
+    propagationDisabled.set(Boolean.FALSE);
   }
 
   // visible for testing
   public static boolean isPropagationDisabled() {
-    return propagationDisabled.get() != null;
+    return Boolean.TRUE.equals(propagationDisabled.get());
   }
 
   /**
@@ -46,13 +49,16 @@ public final class ExecutorAdviceHelper {
    * that unwanted tasks are not instrumented.
    */
   public static boolean shouldPropagateContext(Context context, @Nullable Object task) {
-    if (task == null || isPropagationDisabled()) {
+    if (task == null || context == Context.root()) {
+      // not much point in propagating root context
+      // plus it causes failures under otel.javaagent.testing.fail-on-context-leak=true
       return false;
     }
 
-    if (context == Context.root()) {
-      // not much point in propagating root context
-      // plus it causes failures under otel.javaagent.testing.fail-on-context-leak=true
+    // checked after the context: reading a thread local that was never set on the current thread
+    // adds an entry for it, which is wasted work for the many short-lived virtual threads that
+    // never have a context to propagate
+    if (isPropagationDisabled()) {
       return false;
     }
 
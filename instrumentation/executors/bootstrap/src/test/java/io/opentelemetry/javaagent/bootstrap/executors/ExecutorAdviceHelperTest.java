@@ -0,0 +1,64 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.bootstrap.executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.javaagent.bootstrap.InstrumentedTaskClasses;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class ExecutorAdviceHelperTest {
+
+  private static final ContextKey<String> KEY = ContextKey.named("key");
+
+  private final Runnable task = () -> {};
+
+  @BeforeAll
+  static void setUp() {
+    InstrumentedTaskClasses.setIgnoredTaskClassesPredicate(className -> false);
+  }
+
+  @AfterEach
+  void enablePropagation() {
+    ExecutorAdviceHelper.enablePropagation();
+  }
+
+  @Test
+  void enablePropagationAfterDisabling() {
+    assertThat(ExecutorAdviceHelper.isPropagationDisabled()).isFalse();
+
+    ExecutorAdviceHelper.disablePropagation();
+    assertThat(ExecutorAdviceHelper.isPropagationDisabled()).isTrue();
+
+    ExecutorAdviceHelper.enablePropagation();
+    assertThat(ExecutorAdviceHelper.isPropagationDisabled()).isFalse();
+  }
+
+  @Test
+  void shouldNotPropagateRootContext() {
+    assertThat(ExecutorAdviceHelper.shouldPropagateContext(Context.root(), task)).isFalse();
+
+    ExecutorAdviceHelper.disablePropagation();
+    assertThat(ExecutorAdviceHelper.shouldPropagateContext(Context.root(), task)).isFalse();
+  }
+
+  @Test
+  void shouldPropagateContextUnlessDisabled() {
+    Context context = Context.root().with(KEY, "value");
+    assertThat(ExecutorAdviceHelper.shouldPropagateContext(context, task)).isTrue();
+    assertThat(ExecutorAdviceHelper.shouldPropagateContext(context, null)).isFalse();
+
+    ExecutorAdviceHelper.disablePropagation();
+    assertThat(ExecutorAdviceHelper.shouldPropagateContext(context, task)).isFalse();
+
+    ExecutorAdviceHelper.enablePropagation();
+    assertThat(ExecutorAdviceHelper.shouldPropagateContext(context, task)).isTrue();
+  }
+}
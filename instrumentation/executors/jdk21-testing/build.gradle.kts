@@ -1,7 +1,9 @@
 import kotlin.math.max
+import net.ltgt.gradle.errorprone.errorprone
 
 plugins {
   id("otel.javaagent-testing")
+  id("otel.jmh-conventions")
 }
 
 dependencies {
@@ -9,6 +11,11 @@ dependencies {
 
   testCompileOnly(project(":instrumentation:executors:bootstrap"))
   testImplementation(project(":instrumentation:executors:testing"))
+
+  jmhImplementation(project(":instrumentation:executors:bootstrap"))
+  jmhImplementation(project(":instrumentation-api"))
+  jmhImplementation(project(":javaagent-bootstrap"))
+  jmhImplementation("io.opentelemetry:opentelemetry-sdk-trace")
 }
 
 otelJava {
@@ -30,6 +37,18 @@ tasks.withType<JavaCompile>().configureEach {
   }
 }
 
+// TODO this should live in jmh-conventions
+tasks.named<JavaCompile>("jmhCompileGeneratedClasses") {
+  options.errorprone {
+    isEnabled.set(false)
+  }
+}
+
+jmh {
+  // the benchmark classes are compiled with --enable-preview too
+  jvmArgs.add("--enable-preview")
+}
+
 tasks.withType<Test>().configureEach {
   // needed for VirtualThreadTest
   jvmArgs("--add-opens=java.base/java.lang=ALL-UNNAMED")
@@ -0,0 +1,96 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.executors;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.javaagent.bootstrap.InstrumentedTaskClasses;
+import io.opentelemetry.javaagent.bootstrap.executors.ExecutorAdviceHelper;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs the {@link ExecutorAdviceHelper} calls that the executor and virtual thread
+ * instrumentations make, without the agent attached.
+ *
+ * <p>The {@code virtualThreads} benchmark starts one million virtual threads that each submit a
+ * task with the root context and then do a traced call, which submits a task with the span's
+ * context. The {@code carrierThreadSwitch} benchmark measures mounting and unmounting a virtual
+ * thread, which disables and re-enables the propagation on the carrier thread.
+ */
+@Fork(1)
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+public class VirtualThreadContextPropagationBenchmark {
+
+  private static final int VIRTUAL_THREADS = 1_000_000;
+
+  private static final Runnable TASK = () -> {};
+
+  private final LongAdder propagated = new LongAdder();
+  private Tracer tracer;
+
+  @Setup
+  public void setUp() {
+    InstrumentedTaskClasses.setIgnoredTaskClassesPredicate(className -> false);
+    tracer = SdkTracerProvider.builder().build().get("benchmark");
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Warmup(iterations = 3)
+  @Measurement(iterations = 5)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long virtualThreads() {
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < VIRTUAL_THREADS; i++) {
+        executor.execute(this::tracedCall);
+      }
+    }
+    return propagated.sumThenReset();
+  }
+
+  private void tracedCall() {
+    submit(Context.current());
+
+    Span span = tracer.spanBuilder("traced-call").startSpan();
+    try (Scope ignored = span.makeCurrent()) {
+      submit(Context.current());
+    } finally {
+      span.end();
+    }
+  }
+
+  private void submit(Context context) {
+    if (ExecutorAdviceHelper.shouldPropagateContext(context, TASK)) {
+      propagated.increment();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @Warmup(iterations = 5, time = 1)
+  @Measurement(iterations = 5, time = 1)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public boolean carrierThreadSwitch() {
+    ExecutorAdviceHelper.disablePropagation();
+    ExecutorAdviceHelper.enablePropagation();
+    return ExecutorAdviceHelper.isPropagationDisabled();
+  }
+}
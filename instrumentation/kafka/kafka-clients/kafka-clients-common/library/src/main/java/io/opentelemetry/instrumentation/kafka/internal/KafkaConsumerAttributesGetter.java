@@ -6,6 +6,7 @@
 package io.opentelemetry.instrumentation.kafka.internal;
 
 import io.opentelemetry.instrumentation.api.incubator.semconv.messaging.MessagingAttributesGetter;
+import io.opentelemetry.instrumentation.api.incubator.semconv.messaging.MessagingBatch;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -78,6 +79,12 @@ enum KafkaConsumerAttributesGetter implements MessagingAttributesGetter<KafkaPro
     return null;
   }
 
+  @Nullable
+  @Override
+  public MessagingBatch getBatch(KafkaProcessRequest request) {
+    return request.getBatch();
+  }
+
   @Override
   public List<String> getMessageHeader(KafkaProcessRequest request, String name) {
     return StreamSupport.stream(request.getRecord().headers().headers(name).spliterator(), false)
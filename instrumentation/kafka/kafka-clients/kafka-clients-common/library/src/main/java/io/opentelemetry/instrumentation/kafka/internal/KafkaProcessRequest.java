@@ -5,6 +5,8 @@
 
 package io.opentelemetry.instrumentation.kafka.internal;
 
+import io.opentelemetry.instrumentation.api.incubator.semconv.messaging.MessagingBatch;
+import javax.annotation.Nullable;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 
@@ -15,6 +17,7 @@ import org.apache.kafka.clients.consumer.ConsumerRecord;
 public class KafkaProcessRequest extends AbstractKafkaConsumerRequest {
 
   private final ConsumerRecord<?, ?> record;
+  @Nullable private final MessagingBatch batch;
 
   public static KafkaProcessRequest create(ConsumerRecord<?, ?> record, Consumer<?, ?> consumer) {
     return create(record, KafkaUtil.getConsumerGroup(consumer), KafkaUtil.getClientId(consumer));
@@ -22,9 +25,16 @@ public class KafkaProcessRequest extends AbstractKafkaConsumerRequest {
 
   public static KafkaProcessRequest create(
       KafkaConsumerContext consumerContext, ConsumerRecord<?, ?> record) {
+    return create(consumerContext, record, null);
+  }
+
+  public static KafkaProcessRequest create(
+      KafkaConsumerContext consumerContext,
+      ConsumerRecord<?, ?> record,
+      @Nullable MessagingBatch batch) {
     String consumerGroup = consumerContext != null ? consumerContext.getConsumerGroup() : null;
     String clientId = consumerContext != null ? consumerContext.getClientId() : null;
-    return create(record, consumerGroup, clientId);
+    return new KafkaProcessRequest(record, consumerGroup, clientId, batch);
   }
 
   public static KafkaProcessRequest create(
@@ -33,11 +43,29 @@ public class KafkaProcessRequest extends AbstractKafkaConsumerRequest {
   }
 
   public KafkaProcessRequest(ConsumerRecord<?, ?> record, String consumerGroup, String clientId) {
+    this(record, consumerGroup, clientId, null);
+  }
+
+  private KafkaProcessRequest(
+      ConsumerRecord<?, ?> record,
+      String consumerGroup,
+      String clientId,
+      @Nullable MessagingBatch batch) {
     super(consumerGroup, clientId);
     this.record = record;
+    this.batch = batch;
   }
 
   public ConsumerRecord<?, ?> getRecord() {
     return record;
   }
+
+  /**
+   * Returns the batch shared by all the records of the same topic that were returned by the same
+   * poll, or {@code null} if the record was not processed as a part of such a batch.
+   */
+  @Nullable
+  public MessagingBatch getBatch() {
+    return batch;
+  }
 }
@@ -7,6 +7,7 @@ package io.opentelemetry.instrumentation.kafka.internal;
 
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.api.incubator.semconv.messaging.MessagingBatch;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import java.util.Iterator;
 import java.util.function.BooleanSupplier;
@@ -32,6 +33,9 @@ public class TracingIterator<K, V> implements Iterator<ConsumerRecord<K, V>> {
   @Nullable private KafkaProcessRequest currentRequest;
   @Nullable private Context currentContext;
   @Nullable private Scope currentScope;
+  // records of the same topic returned by one poll share their messaging attributes
+  @Nullable private String currentTopic;
+  @Nullable private MessagingBatch currentBatch;
 
   private TracingIterator(
       Iterator<ConsumerRecord<K, V>> delegateIterator,
@@ -78,7 +82,12 @@ public class TracingIterator<K, V> implements Iterator<ConsumerRecord<K, V>> {
     // (https://github.com/open-telemetry/opentelemetry-java-instrumentation/issues/1947)
     ConsumerRecord<K, V> next = delegateIterator.next();
     if (next != null && wrappingEnabled.getAsBoolean()) {
-      currentRequest = KafkaProcessRequest.create(consumerContext, next);
+      String topic = next.topic();
+      if (currentBatch == null || !topic.equals(currentTopic)) {
+        currentTopic = topic;
+        currentBatch = MessagingBatch.create();
+      }
+      currentRequest = KafkaProcessRequest.create(consumerContext, next, currentBatch);
       currentContext = instrumenter.start(parentContext, currentRequest);
       currentScope = currentContext.makeCurrent();
     }
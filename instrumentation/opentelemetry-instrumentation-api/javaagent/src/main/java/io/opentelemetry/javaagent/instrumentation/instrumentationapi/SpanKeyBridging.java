@@ -6,6 +6,11 @@
 package io.opentelemetry.javaagent.instrumentation.instrumentationapi;
 
 import application.io.opentelemetry.instrumentation.api.internal.SpanKey;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import javax.annotation.Nullable;
@@ -49,5 +54,51 @@ public final class SpanKeyBridging {
     return agentSpanKeys.get(applicationSpanKey);
   }
 
+  /**
+   * Translates a bit mask of application span keys to the bit mask of the corresponding agent span
+   * keys, or returns -1 if the mask contains an application span key that has no agent
+   * counterpart.
+   */
+  public static int toAgentMaskOrMinusOne(int applicationMask) {
+    int[] agentMasks = MaskMapping.agentMasks;
+    int agentMask = 0;
+    for (int bits = applicationMask; bits != 0; bits &= bits - 1) {
+      int agentBits = agentMasks[Integer.numberOfTrailingZeros(bits)];
+      if (agentBits == 0) {
+        return -1;
+      }
+      agentMask |= agentBits;
+    }
+    return agentMask;
+  }
+
+  // initialized lazily, only when the application span keys have the mask methods
+  private static final class MaskMapping {
+    // indexed by the bit of the application span key
+    static final int[] agentMasks = createMaskMapping();
+
+    private static int[] createMaskMapping() {
+      int[] agentMasks = new int[Integer.SIZE];
+      try {
+        // application span keys older than the mask methods don't have mask(), calling it through
+        // reflection keeps muzzle from rejecting them
+        Method applicationMask = SpanKey.class.getMethod("mask", Collection.class);
+        for (Map.Entry<SpanKey, io.opentelemetry.instrumentation.api.internal.SpanKey> entry :
+            agentSpanKeys.entrySet()) {
+          int bit = (int) applicationMask.invoke(null, Collections.singletonList(entry.getKey()));
+          agentMasks[Integer.numberOfTrailingZeros(bit)] =
+              io.opentelemetry.instrumentation.api.internal.SpanKey.mask(
+                  Collections.singletonList(entry.getValue()));
+        }
+      } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+        // nothing can be bridged, every application mask translates to -1
+        Arrays.fill(agentMasks, 0);
+      }
+      return agentMasks;
+    }
+
+    private MaskMapping() {}
+  }
+
   private SpanKeyBridging() {}
 }
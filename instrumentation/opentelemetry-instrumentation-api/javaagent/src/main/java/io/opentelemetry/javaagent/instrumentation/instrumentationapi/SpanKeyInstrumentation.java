@@ -5,6 +5,7 @@
 
 package io.opentelemetry.javaagent.instrumentation.instrumentationapi;
 
+import static net.bytebuddy.matcher.ElementMatchers.isStatic;
 import static net.bytebuddy.matcher.ElementMatchers.named;
 import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
 
@@ -37,6 +38,19 @@ final class SpanKeyInstrumentation implements TypeInstrumentation {
         named("fromContextOrNull")
             .and(takesArgument(0, named("application.io.opentelemetry.context.Context"))),
         this.getClass().getName() + "$FromContextOrNullAdvice");
+    transformer.applyAdviceToMethod(
+        isStatic()
+            .and(named("storeInContext"))
+            .and(takesArgument(0, named("application.io.opentelemetry.context.Context")))
+            .and(takesArgument(1, int.class))
+            .and(takesArgument(2, named("application.io.opentelemetry.api.trace.Span"))),
+        this.getClass().getName() + "$StoreInContextByMaskAdvice");
+    transformer.applyAdviceToMethod(
+        isStatic()
+            .and(named("allPresentInContext"))
+            .and(takesArgument(0, named("application.io.opentelemetry.context.Context")))
+            .and(takesArgument(1, int.class)),
+        this.getClass().getName() + "$AllPresentInContextAdvice");
   }
 
   @SuppressWarnings("unused")
@@ -101,4 +115,63 @@ final class SpanKeyInstrumentation implements TypeInstrumentation {
       applicationSpan = agentSpan == null ? null : Bridging.toApplication(agentSpan);
     }
   }
+
+  @SuppressWarnings("unused")
+  public static class StoreInContextByMaskAdvice {
+    @Advice.OnMethodEnter(skipOn = Advice.OnDefaultValue.class)
+    public static Object onEnter() {
+      return null;
+    }
+
+    @Advice.OnMethodExit(suppress = Throwable.class)
+    public static void onExit(
+        @Advice.Argument(0) Context applicationContext,
+        @Advice.Argument(1) int applicationMask,
+        @Advice.Argument(2) Span applicationSpan,
+        @Advice.Return(readOnly = false) Context newApplicationContext) {
+
+      int agentMask = SpanKeyBridging.toAgentMaskOrMinusOne(applicationMask);
+      io.opentelemetry.api.trace.Span agentSpan = Bridging.toAgentOrNull(applicationSpan);
+      if (agentMask == -1 || agentSpan == null) {
+        newApplicationContext = applicationContext;
+        return;
+      }
+
+      io.opentelemetry.context.Context agentContext =
+          AgentContextStorage.getAgentContext(applicationContext);
+
+      io.opentelemetry.context.Context newAgentContext =
+          io.opentelemetry.instrumentation.api.internal.SpanKey.storeInContext(
+              agentContext, agentMask, agentSpan);
+
+      newApplicationContext = AgentContextStorage.toApplicationContext(newAgentContext);
+    }
+  }
+
+  @SuppressWarnings("unused")
+  public static class AllPresentInContextAdvice {
+    @Advice.OnMethodEnter(skipOn = Advice.OnDefaultValue.class)
+    public static Object onEnter() {
+      return null;
+    }
+
+    @Advice.OnMethodExit(suppress = Throwable.class)
+    public static void onExit(
+        @Advice.Argument(0) Context applicationContext,
+        @Advice.Argument(1) int applicationMask,
+        @Advice.Return(readOnly = false) boolean allPresent) {
+
+      int agentMask = SpanKeyBridging.toAgentMaskOrMinusOne(applicationMask);
+      if (agentMask == -1) {
+        return;
+      }
+
+      io.opentelemetry.context.Context agentContext =
+          AgentContextStorage.getAgentContext(applicationContext);
+
+      allPresent =
+          io.opentelemetry.instrumentation.api.internal.SpanKey.allPresentInContext(
+              agentContext, agentMask);
+    }
+  }
 }
@@ -6,13 +6,21 @@
 package io.opentelemetry.javaagent.instrumentation.instrumentationapi;
 
 import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.api.instrumenter.LocalRootSpan;
+import io.opentelemetry.instrumentation.api.instrumenter.SpanKindExtractor;
 import io.opentelemetry.instrumentation.api.internal.SpanKey;
+import io.opentelemetry.instrumentation.api.internal.SpanKeyProvider;
 import io.opentelemetry.instrumentation.api.semconv.http.HttpServerRoute;
 import io.opentelemetry.instrumentation.api.semconv.http.HttpServerRouteSource;
 import io.opentelemetry.instrumentation.testing.junit.AgentInstrumentationExtension;
@@ -22,6 +30,7 @@ import io.opentelemetry.semconv.ErrorAttributes;
 import io.opentelemetry.semconv.HttpAttributes;
 import java.util.Arrays;
 import java.util.List;
+import javax.annotation.Nullable;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
@@ -76,6 +85,25 @@ class ContextBridgeTest {
         });
   }
 
+  @Test
+  void testSpanSuppressionBridge() {
+    Instrumenter<String, Void> libraryInstrumenter =
+        Instrumenter.<String, Void>builder(GlobalOpenTelemetry.get(), "test", request -> request)
+            .addAttributesExtractor(new HttpClientSpanKeyExtractor())
+            .buildInstrumenter(SpanKindExtractor.alwaysClient());
+
+    assertTrue(libraryInstrumenter.shouldStart(Context.current(), "request"));
+    AgentSpanTesting.runWithAllSpanKeys(
+        "parent",
+        () -> assertFalse(libraryInstrumenter.shouldStart(Context.current(), "request")));
+
+    // spans stored by the library instrumenter end up in the agent context too
+    Context context = libraryInstrumenter.start(Context.current(), "request");
+    assertNotNull(SpanKey.HTTP_CLIENT.fromContextOrNull(context));
+    assertFalse(libraryInstrumenter.shouldStart(context, "request"));
+    libraryInstrumenter.end(context, "request", null, null);
+  }
+
   @Test
   void testHttpRouteHolder_SameSourceAsServerInstrumentationDoesNotOverrideRoute() {
     AgentSpanTesting.runWithHttpServerSpan(
@@ -117,4 +145,24 @@ class ContextBridgeTest {
                             equalTo(HttpAttributes.HTTP_ROUTE, "/test/controller/:id"),
                             equalTo(ErrorAttributes.ERROR_TYPE, "_OTHER"))));
   }
+
+  private static class HttpClientSpanKeyExtractor
+      implements AttributesExtractor<String, Void>, SpanKeyProvider {
+
+    @Override
+    public void onStart(AttributesBuilder attributes, Context parentContext, String request) {}
+
+    @Override
+    public void onEnd(
+        AttributesBuilder attributes,
+        Context context,
+        String request,
+        @Nullable Void response,
+        @Nullable Throwable error) {}
+
+    @Override
+    public SpanKey internalGetSpanKey() {
+      return SpanKey.HTTP_CLIENT;
+    }
+  }
 }
@@ -5,12 +5,10 @@
 
 package io.opentelemetry.javaagent.instrumentation.redisson;
 
-import static java.util.Collections.emptyList;
-import static java.util.Collections.singletonList;
-
 import com.google.auto.value.AutoValue;
 import io.netty.buffer.ByteBuf;
 import io.opentelemetry.instrumentation.api.incubator.semconv.db.RedisCommandSanitizer;
+import io.opentelemetry.instrumentation.api.incubator.semconv.db.internal.LazyRedisArgument;
 import io.opentelemetry.javaagent.bootstrap.internal.CommonConfig;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
@@ -20,7 +18,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import org.redisson.client.protocol.CommandData;
 import org.redisson.client.protocol.CommandsData;
@@ -55,33 +52,31 @@ public abstract class RedissonRequest {
 
   @Nullable
   public String getStatement() {
-    List<String> sanitizedStatements = sanitizeStatement();
-    switch (sanitizedStatements.size()) {
-      case 0:
-        return null;
-        // optimize for the most common case
-      case 1:
-        return sanitizedStatements.get(0);
-      default:
-        return String.join(";", sanitizedStatements);
-    }
-  }
-
-  private List<String> sanitizeStatement() {
     Object command = getCommand();
     // get command
     if (command instanceof CommandsData) {
       List<CommandData<?, ?>> commands = ((CommandsData) command).getCommands();
-      return commands.stream()
-          .map(RedissonRequest::normalizeSingleCommand)
-          .collect(Collectors.toList());
+      if (commands.isEmpty()) {
+        return null;
+      }
+      // all statements of the batch are joined in a single builder
+      StringBuilder statement = new StringBuilder();
+      for (int i = 0; i < commands.size(); i++) {
+        if (i > 0) {
+          statement.append(';');
+        }
+        normalizeSingleCommand(commands.get(i), statement);
+      }
+      return statement.toString();
     } else if (command instanceof CommandData) {
-      return singletonList(normalizeSingleCommand((CommandData<?, ?>) command));
+      StringBuilder statement = new StringBuilder();
+      normalizeSingleCommand((CommandData<?, ?>) command, statement);
+      return statement.toString();
     }
-    return emptyList();
+    return null;
   }
 
-  private static String normalizeSingleCommand(CommandData<?, ?> command) {
+  private static void normalizeSingleCommand(CommandData<?, ?> command, StringBuilder statement) {
     Object[] commandParams = command.getParams();
     List<Object> args = new ArrayList<>(commandParams.length + 1);
     if (command.getCommand().getSubName() != null) {
@@ -89,20 +84,13 @@ public abstract class RedissonRequest {
     }
     for (Object param : commandParams) {
       if (param instanceof ByteBuf) {
-        try {
-          // slice() does not copy the actual byte buffer, it only returns a readable/writable
-          // "view" of the original buffer (i.e. read and write marks are not shared)
-          ByteBuf buf = ((ByteBuf) param).slice();
-          // state can be null here: no Decoders used by Codecs use it
-          args.add(command.getCodec().getValueDecoder().decode(buf, null));
-        } catch (Exception ignored) {
-          args.add("?");
-        }
+        // only decoded when the sanitizer keeps the argument
+        args.add(new DecodedParam(command, (ByteBuf) param));
       } else {
         args.add(param);
       }
     }
-    return sanitizer.sanitize(command.getCommand().getName(), args);
+    sanitizer.sanitize(command.getCommand().getName(), args, statement);
   }
 
   @Nullable
@@ -159,4 +147,28 @@ public abstract class RedissonRequest {
       return null;
     }
   }
+
+  // the decoded value is not converted to a string here, byte[] values returned by e.g.
+  // ByteArrayCodec are converted by the sanitizer
+  private static final class DecodedParam implements LazyRedisArgument {
+    private final CommandData<?, ?> command;
+    private final ByteBuf buf;
+
+    DecodedParam(CommandData<?, ?> command, ByteBuf buf) {
+      this.command = command;
+      this.buf = buf;
+    }
+
+    @Override
+    public Object resolve() {
+      try {
+        // slice() does not copy the actual byte buffer, it only returns a readable/writable
+        // "view" of the original buffer (i.e. read and write marks are not shared)
+        // state can be null here: no Decoders used by Codecs use it
+        return command.getCodec().getValueDecoder().decode(buf.slice(), null);
+      } catch (Exception ignored) {
+        return "?";
+      }
+    }
+  }
 }
@@ -22,6 +22,7 @@ import io.opentelemetry.semconv.incubating.DbIncubatingAttributes;
 import java.lang.reflect.InvocationTargetException;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -45,6 +46,7 @@ import org.redisson.api.RMap;
 import org.redisson.api.RScoredSortedSet;
 import org.redisson.api.RSet;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.ByteArrayCodec;
 import org.redisson.config.Config;
 import org.redisson.config.SingleServerConfig;
 import org.slf4j.Logger;
@@ -287,6 +289,26 @@ public abstract class AbstractRedissonClientTest {
                             equalTo(DbIncubatingAttributes.DB_OPERATION, "HGET"))));
   }
 
+  @Test
+  void byteArrayCodecCommand() {
+    RMap<byte[], byte[]> map = redisson.getMap("map2", ByteArrayCodec.INSTANCE);
+    map.get("key2".getBytes(StandardCharsets.UTF_8));
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasName("HGET")
+                        .hasKind(CLIENT)
+                        .hasAttributesSatisfyingExactly(
+                            equalTo(NetworkAttributes.NETWORK_TYPE, "ipv4"),
+                            equalTo(NetworkAttributes.NETWORK_PEER_ADDRESS, ip),
+                            equalTo(NetworkAttributes.NETWORK_PEER_PORT, (long) port),
+                            equalTo(DbIncubatingAttributes.DB_SYSTEM, "redis"),
+                            equalTo(DbIncubatingAttributes.DB_STATEMENT, "HGET map2 key2"),
+                            equalTo(DbIncubatingAttributes.DB_OPERATION, "HGET"))));
+  }
+
   @Test
   void setCommand() {
     RSet<String> set = redisson.getSet("set1");
@@ -40,15 +40,19 @@ class ClassLoaderHasClassesNamedMatcher extends ElementMatcher.Junction.Abstract
     if (useCache) {
       return Manager.INSTANCE.match(this, cl);
     } else {
-      return hasResources(cl, resources);
+      return hasResources(cl, /* useIndex= */ false, resources);
     }
   }
 
-  private static boolean hasResources(ClassLoader cl, String... resources) {
+  private static boolean hasResources(ClassLoader cl, boolean useIndex, String... resources) {
     boolean priorValue = InClassLoaderMatcher.getAndSet(true);
     try {
       for (String resource : resources) {
-        if (cl.getResource(resource) == null) {
+        boolean found =
+            useIndex
+                ? ClassLoaderResourceIndex.hasResource(cl, resource)
+                : cl.getResource(resource) != null;
+        if (!found) {
           return false;
         }
       }
@@ -82,7 +86,7 @@ class ClassLoaderHasClassesNamedMatcher extends ElementMatcher.Junction.Abstract
           readLock.unlock();
           // we do the resource presence check outside the lock to keep the time we need to hold
           // the write lock minimal
-          boolean matches = hasResources(cl, matcher.resources);
+          boolean matches = hasResources(cl, /* useIndex= */ true, matcher.resources);
           writeLock.lock();
           try {
             if (!set.get(matcherRunBit)) {
@@ -0,0 +1,213 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.extension.matcher;
+
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import io.opentelemetry.javaagent.bootstrap.internal.ClassLoaderMatcherCacheHolder;
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import javax.annotation.Nullable;
+
+/**
+ * A Bloom filter of the class files found in the jars of a {@link URLClassLoader}, used to skip
+ * resource lookups for classes that a class loader can't possibly find on its own.
+ *
+ * <p>Only class loaders that don't change how {@link URLClassLoader} finds resources are indexed:
+ * for them, the resources they can find are exactly the resources of their parent and of their
+ * jars, including the jars referenced by the {@code Class-Path} manifest attributes. Class loaders
+ * that have a directory or a remote URL on their class path are not indexed either.
+ */
+final class ClassLoaderResourceIndex {
+
+  private static final String CLASS_SUFFIX = ".class";
+  private static final String VERSIONS_PREFIX = "META-INF/versions/";
+  private static final int BITS_PER_ENTRY = 10;
+  private static final int HASH_FUNCTIONS = 7;
+
+  private static final ClassLoaderResourceIndex NOT_INDEXED = new ClassLoaderResourceIndex(0);
+
+  // invalidated along with the other class loader matcher caches, e.g. when URLs are added
+  private static final Cache<ClassLoader, ClassLoaderResourceIndex> indexes = Cache.weak();
+
+  static {
+    ClassLoaderMatcherCacheHolder.addCache(indexes);
+  }
+
+  private final long[] bits;
+
+  private ClassLoaderResourceIndex(int entries) {
+    bits = new long[(int) ((entries * (long) BITS_PER_ENTRY + 63) / 64)];
+  }
+
+  /** Returns whether the {@code classLoader} can find the class file {@code resource}. */
+  static boolean hasResource(ClassLoader classLoader, String resource) {
+    ClassLoader current = classLoader;
+    while (true) {
+      ClassLoaderResourceIndex index =
+          indexes.computeIfAbsent(current, ClassLoaderResourceIndex::create);
+      ClassLoader parent = current.getParent();
+      // getResource() of a class loader looks up the resource in its parents first, so once the
+      // index rules out the jars of all class loaders below the parent, asking it is enough
+      if (index == NOT_INDEXED || parent == null || index.mightContain(resource)) {
+        return current.getResource(resource) != null;
+      }
+      current = parent;
+    }
+  }
+
+  private static ClassLoaderResourceIndex create(ClassLoader classLoader) {
+    if (!(classLoader instanceof URLClassLoader) || overridesResourceLookup(classLoader)) {
+      return NOT_INDEXED;
+    }
+    try {
+      Set<String> classFiles = listClassFiles(((URLClassLoader) classLoader).getURLs());
+      if (classFiles == null) {
+        return NOT_INDEXED;
+      }
+      ClassLoaderResourceIndex index =
+          new ClassLoaderResourceIndex(Math.max(classFiles.size(), 1));
+      for (String classFile : classFiles) {
+        index.add(classFile);
+      }
+      return index;
+    } catch (IOException | RuntimeException e) {
+      return NOT_INDEXED;
+    }
+  }
+
+  private static boolean overridesResourceLookup(ClassLoader classLoader) {
+    try {
+      Class<?> type = classLoader.getClass();
+      return type.getMethod("getResource", String.class).getDeclaringClass() != ClassLoader.class
+          || type.getMethod("findResource", String.class).getDeclaringClass()
+              != URLClassLoader.class;
+    } catch (NoSuchMethodException e) {
+      return true;
+    }
+  }
+
+  // returns null if any of the URLs is not a local jar file
+  @Nullable
+  private static Set<String> listClassFiles(URL[] urls) throws IOException {
+    Set<String> classFiles = new HashSet<>();
+    Set<File> visited = new HashSet<>();
+    Deque<URL> pending = new ArrayDeque<>();
+    for (URL url : urls) {
+      pending.add(url);
+    }
+    while (!pending.isEmpty()) {
+      File file = toFile(pending.remove());
+      if (file == null || !file.isFile()) {
+        return null;
+      }
+      if (!visited.add(file)) {
+        continue;
+      }
+      // only reads the central directory of the jar
+      try (JarFile jarFile = new JarFile(file, /* verify= */ false)) {
+        Enumeration<? extends ZipEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+          String name = entries.nextElement().getName();
+          if (name.endsWith(CLASS_SUFFIX)) {
+            classFiles.add(stripVersion(name));
+          }
+        }
+        pending.addAll(manifestClassPath(jarFile, file));
+      }
+    }
+    return classFiles;
+  }
+
+  @Nullable
+  private static File toFile(URL url) {
+    if (!"file".equals(url.getProtocol())) {
+      return null;
+    }
+    try {
+      return new File(url.toURI());
+    } catch (URISyntaxException | IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  // multi-release jars may only have a class under META-INF/versions/<version>/
+  private static String stripVersion(String name) {
+    if (name.startsWith(VERSIONS_PREFIX)) {
+      int end = name.indexOf('/', VERSIONS_PREFIX.length());
+      if (end > 0) {
+        return name.substring(end + 1);
+      }
+    }
+    return name;
+  }
+
+  private static List<URL> manifestClassPath(JarFile jarFile, File file) throws IOException {
+    Manifest manifest = jarFile.getManifest();
+    String classPath =
+        manifest == null ? null : manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH);
+    if (classPath == null) {
+      return Collections.emptyList();
+    }
+    List<URL> urls = new ArrayList<>();
+    URL base = file.toURI().toURL();
+    for (String path : classPath.trim().split("\\s+")) {
+      if (path.isEmpty()) {
+        continue;
+      }
+      try {
+        urls.add(new URL(base, path));
+      } catch (MalformedURLException e) {
+        // ignored by URLClassLoader too
+      }
+    }
+    return urls;
+  }
+
+  private void add(String resource) {
+    int hash = resource.hashCode();
+    int increment = spread(hash);
+    long bitCount = bits.length * 64L;
+    for (int i = 0; i < HASH_FUNCTIONS; i++) {
+      int bit = (int) (Integer.toUnsignedLong(hash + i * increment) % bitCount);
+      bits[bit >>> 6] |= 1L << bit;
+    }
+  }
+
+  private boolean mightContain(String resource) {
+    int hash = resource.hashCode();
+    int increment = spread(hash);
+    long bitCount = bits.length * 64L;
+    for (int i = 0; i < HASH_FUNCTIONS; i++) {
+      int bit = (int) (Integer.toUnsignedLong(hash + i * increment) % bitCount);
+      if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // a second hash for double hashing, derived from the first one
+  private static int spread(int hash) {
+    int h = hash * 0x9e3779b9;
+    return (h ^ (h >>> 16)) | 1;
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.extension.matcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ClassLoaderResourceIndexTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void findsClassesOfJarsAndParents() throws IOException {
+    Path parentJar = createJar("parent.jar", null, "parent/Parent.class");
+    Path childJar =
+        createJar(
+            "child.jar",
+            null,
+            "child/Child.class",
+            "META-INF/versions/11/child/Versioned.class",
+            "child/resource.txt");
+
+    try (URLClassLoader parent = new URLClassLoader(new URL[] {toUrl(parentJar)}, null);
+        URLClassLoader child = new URLClassLoader(new URL[] {toUrl(childJar)}, parent)) {
+      assertThat(ClassLoaderResourceIndex.hasResource(child, "child/Child.class")).isTrue();
+      assertThat(ClassLoaderResourceIndex.hasResource(child, "parent/Parent.class")).isTrue();
+      assertThat(ClassLoaderResourceIndex.hasResource(child, "java/lang/Object.class")).isTrue();
+      assertThat(ClassLoaderResourceIndex.hasResource(child, "child/Missing.class")).isFalse();
+      assertThat(ClassLoaderResourceIndex.hasResource(parent, "child/Child.class")).isFalse();
+    }
+  }
+
+  @Test
+  void followsManifestClassPath() throws IOException {
+    createJar("library.jar", null, "library/Library.class");
+    Path applicationJar = createJar("application.jar", "library.jar", "app/App.class");
+
+    try (URLClassLoader classLoader =
+        new URLClassLoader(new URL[] {toUrl(applicationJar)}, null)) {
+      assertThat(ClassLoaderResourceIndex.hasResource(classLoader, "library/Library.class"))
+          .isTrue();
+    }
+  }
+
+  @Test
+  void doesNotIndexClassLoadersThatFindOtherResources() throws IOException {
+    URL resource = toUrl(createJar("other.jar", null));
+    try (URLClassLoader parent = new URLClassLoader(new URL[0], null);
+        URLClassLoader child =
+            new URLClassLoader(new URL[0], parent) {
+              @Override
+              public URL findResource(String name) {
+                return "generated/Generated.class".equals(name) ? resource : null;
+              }
+            }) {
+      assertThat(ClassLoaderResourceIndex.hasResource(child, "generated/Generated.class")).isTrue();
+    }
+  }
+
+  private Path createJar(String name, @Nullable String classPath, String... entries)
+      throws IOException {
+    Path jar = tempDir.resolve(name);
+    Manifest manifest = new Manifest();
+    manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+    if (classPath != null) {
+      manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, classPath);
+    }
+    try (OutputStream out = Files.newOutputStream(jar);
+        JarOutputStream jarOut = new JarOutputStream(out, manifest)) {
+      for (String entry : entries) {
+        jarOut.putNextEntry(new JarEntry(entry));
+        jarOut.closeEntry();
+      }
+    }
+    return jar;
+  }
+
+  private static URL toUrl(Path path) throws IOException {
+    return path.toUri().toURL();
+  }
+}
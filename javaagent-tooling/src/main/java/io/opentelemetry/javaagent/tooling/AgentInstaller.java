@@ -18,6 +18,7 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextStorage;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.instrumentation.api.internal.EmbeddedInstrumentationProperties;
+import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
 import io.opentelemetry.javaagent.bootstrap.AgentClassLoader;
 import io.opentelemetry.javaagent.bootstrap.BootstrapPackagePrefixesHolder;
 import io.opentelemetry.javaagent.bootstrap.ClassFileTransformerHolder;
@@ -38,6 +39,7 @@ import io.opentelemetry.javaagent.tooling.config.EarlyInitAgentConfig;
 import io.opentelemetry.javaagent.tooling.ignore.IgnoredClassLoadersMatcher;
 import io.opentelemetry.javaagent.tooling.ignore.IgnoredTypesBuilderImpl;
 import io.opentelemetry.javaagent.tooling.ignore.IgnoredTypesMatcher;
+import io.opentelemetry.javaagent.tooling.ignore.TypeMatchingCache;
 import io.opentelemetry.javaagent.tooling.muzzle.AgentTooling;
 import io.opentelemetry.javaagent.tooling.util.Trie;
 import io.opentelemetry.sdk.autoconfigure.AutoConfiguredOpenTelemetrySdk;
@@ -124,6 +126,7 @@ public class AgentInstaller {
     ConfigProperties sdkConfig = AutoConfigureUtil.getConfig(autoConfiguredSdk);
     InstrumentationConfig.internalInitializeConfig(new ConfigPropertiesBridge(sdkConfig));
     copyNecessaryConfigToSystemProperties(sdkConfig);
+    SupportabilityMetrics.instance().registerMetrics(autoConfiguredSdk.getOpenTelemetrySdk());
 
     setBootstrapPackages(sdkConfig, extensionClassLoader);
     ConfiguredResourceAttributesHolder.initialize(
@@ -200,7 +203,18 @@ public class AgentInstaller {
   }
 
   private static void copyNecessaryConfigToSystemProperties(ConfigProperties config) {
-    for (String property : asList("otel.instrumentation.experimental.span-suppression-strategy")) {
+    for (String property :
+        asList(
+            "otel.instrumentation.experimental.span-suppression-strategy",
+            "otel.instrumentation.experimental.supportability-metrics.enabled",
+            "otel.instrumentation.experimental.overhead-metrics.enabled",
+            "otel.instrumentation.experimental.skip-unsampled-span-attributes",
+            "otel.instrumentation.experimental.exception-recording.max-stack-depth",
+            "otel.instrumentation.experimental.exception-recording.stack-traces-per-second",
+            "otel.instrumentation.experimental.exception-recording.dedup-window-millis",
+            "otel.instrumentation.common.db-statement-sanitizer.cache.max-weight",
+            "otel.instrumentation.common.db-statement-sanitizer.max-length",
+            "otel.instrumentation.http.experimental.metrics.cache-attributes")) {
       String value = config.getString(property);
       if (value != null) {
         System.setProperty(property, value);
@@ -241,13 +255,21 @@ public class AgentInstaller {
     Trie<Boolean> ignoredTasksTrie = builder.buildIgnoredTasksTrie();
     InstrumentedTaskClasses.setIgnoredTaskClassesPredicate(ignoredTasksTrie::contains);
 
-    return agentBuilder
-        .ignore(any(), new IgnoredClassLoadersMatcher(builder.buildIgnoredClassLoadersTrie()))
-        .or(new IgnoredTypesMatcher(builder.buildIgnoredTypesTrie()))
-        .or(
-            (typeDescription, classLoader, module, classBeingRedefined, protectionDomain) -> {
-              return HelperInjector.isInjectedClass(classLoader, typeDescription.getName());
-            });
+    AgentBuilder.Ignored ignored =
+        agentBuilder
+            .ignore(any(), new IgnoredClassLoadersMatcher(builder.buildIgnoredClassLoadersTrie()))
+            .or(new IgnoredTypesMatcher(builder.buildIgnoredTypesTrie()))
+            .or(
+                (typeDescription, classLoader, module, classBeingRedefined, protectionDomain) -> {
+                  return HelperInjector.isInjectedClass(classLoader, typeDescription.getName());
+                });
+
+    // checked last, so that only the classes that pass the cheaper checks above are cached
+    TypeMatchingCache typeMatchingCache = TypeMatchingCache.createIfEnabled(config);
+    if (typeMatchingCache == null) {
+      return ignored;
+    }
+    return ignored.or(typeMatchingCache).with(typeMatchingCache.listener());
   }
 
   private static void addHttpServerResponseCustomizers(ClassLoader extensionClassLoader) {
@@ -0,0 +1,492 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.ignore;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import io.opentelemetry.javaagent.tooling.AgentVersion;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.utility.JavaModule;
+
+/**
+ * An ignore matcher backed by a file that remembers, between JVM runs, the classes that no
+ * instrumentation matched.
+ *
+ * <p>Classes are recorded per jar file they were loaded from and per class path of the class
+ * loader that loaded them. When the agent starts again with the same agent version, JVM, class path
+ * and agent configuration, these classes are ignored right away, without running the type matchers
+ * of all instrumentations on them. The whole cache is discarded as soon as any of the recorded jars
+ * has a different size or modification time, since the outcome of matching a class may depend on
+ * its super types, which can come from other jars.
+ *
+ * <p>Whether a class is instrumented also depends on the class loader matchers and on muzzle, which
+ * look up classes from other jars of the class loader and its parents. The class path of the class
+ * loader, including the size and modification time of every jar on it, is therefore part of the
+ * key of the recorded classes: when a jar is added to, removed from or replaced in e.g. the {@code
+ * WEB-INF/lib} directory of a web application, the classes of that class loader are matched again.
+ * Classes that are not loaded from a jar file, e.g. from a directory, or that are loaded by a class
+ * loader whose class path is not known, are never cached.
+ *
+ * <p>The cache file is rewritten with the outcome of the current run when the JVM shuts down.
+ */
+public final class TypeMatchingCache implements AgentBuilder.RawMatcher {
+
+  private static final Logger logger = Logger.getLogger(TypeMatchingCache.class.getName());
+
+  static final String CACHE_FILE_PROPERTY = "otel.javaagent.experimental.type-matching-cache.file";
+
+  private static final int MAGIC = 0x4f544d43;
+  private static final int FORMAT_VERSION = 2;
+
+  private static final JarRecord NOT_A_JAR =
+      new JarRecord("", "", -1, -1, Collections.emptySet());
+  // the class path of a class loader that is not a URLClassLoader can't be fingerprinted
+  private static final String UNKNOWN_CLASS_PATH = "";
+
+  private final Path cacheFile;
+  private final String environment;
+  // jar path and class path fingerprint -> classes loaded from the jar, both read from the cache
+  // file and recorded in this run
+  private final Map<String, JarRecord> jars = new ConcurrentHashMap<>();
+  // protection domains are created per class loader, see SecureClassLoader.getProtectionDomain()
+  private final Cache<ProtectionDomain, JarRecord> jarsByProtectionDomain = Cache.weak();
+  private final Cache<ClassLoader, String> classPathFingerprints = Cache.weak();
+  // the class that is currently being transformed on this thread, set by matches()
+  private final ThreadLocal<Candidate> candidate = ThreadLocal.withInitial(Candidate::new);
+  private final AgentBuilder.Listener listener = new Listener();
+
+  /**
+   * Returns a new {@link TypeMatchingCache} initialized from the cache file configured with {@code
+   * otel.javaagent.experimental.type-matching-cache.file}, or {@code null} if no file is
+   * configured.
+   */
+  @Nullable
+  public static TypeMatchingCache createIfEnabled(ConfigProperties config) {
+    String file = config.getString(CACHE_FILE_PROPERTY);
+    if (file == null || file.isEmpty()) {
+      return null;
+    }
+    TypeMatchingCache cache = new TypeMatchingCache(Paths.get(file), environment(config));
+    cache.load();
+    Runtime.getRuntime().addShutdownHook(new Thread(cache::write, "otel-type-matching-cache"));
+    return cache;
+  }
+
+  TypeMatchingCache(Path cacheFile, String environment) {
+    this.cacheFile = cacheFile;
+    this.environment = environment;
+  }
+
+  /** Returns the listener that records the outcome of matching classes. */
+  public AgentBuilder.Listener listener() {
+    return listener;
+  }
+
+  @Override
+  public boolean matches(
+      TypeDescription typeDescription,
+      @Nullable ClassLoader classLoader,
+      @Nullable JavaModule module,
+      @Nullable Class<?> classBeingRedefined,
+      @Nullable ProtectionDomain protectionDomain) {
+    if (protectionDomain == null || classLoader == null) {
+      return false;
+    }
+    JarRecord jar = jarsByProtectionDomain.get(protectionDomain);
+    if (jar == null) {
+      jar = findJar(protectionDomain, classLoader);
+      jarsByProtectionDomain.put(protectionDomain, jar);
+    }
+    if (jar == NOT_A_JAR) {
+      return false;
+    }
+    String name = typeDescription.getName();
+    Candidate current = candidate.get();
+    current.name = name;
+    current.jar = jar;
+    return jar.cachedUnmatched.contains(name);
+  }
+
+  private JarRecord findJar(ProtectionDomain protectionDomain, ClassLoader classLoader) {
+    CodeSource codeSource = protectionDomain.getCodeSource();
+    Path path = codeSource == null ? null : toJarPath(codeSource.getLocation());
+    if (path == null) {
+      return NOT_A_JAR;
+    }
+    String classPath =
+        classPathFingerprints.computeIfAbsent(classLoader, TypeMatchingCache::classPathFingerprint);
+    if (classPath.equals(UNKNOWN_CLASS_PATH)) {
+      return NOT_A_JAR;
+    }
+    String key = key(path.toString(), classPath);
+    JarRecord jar = jars.get(key);
+    if (jar != null) {
+      return jar;
+    }
+    BasicFileAttributes attributes = readAttributes(path);
+    if (attributes == null || !attributes.isRegularFile()) {
+      return NOT_A_JAR;
+    }
+    JarRecord newJar =
+        new JarRecord(
+            path.toString(),
+            classPath,
+            attributes.size(),
+            attributes.lastModifiedTime().toMillis(),
+            Collections.emptySet());
+    JarRecord prior = jars.putIfAbsent(key, newJar);
+    return prior != null ? prior : newJar;
+  }
+
+  private static String key(String path, String classPath) {
+    return path + '\n' + classPath;
+  }
+
+  // the class path of the class loader and of all its parents, up to the system class loader,
+  // with the size and modification time of every file on it
+  static String classPathFingerprint(ClassLoader classLoader) {
+    StringBuilder classPath = new StringBuilder();
+    ClassLoader systemClassLoader = ClassLoader.getSystemClassLoader();
+    for (ClassLoader loader = classLoader; loader != null; loader = loader.getParent()) {
+      if (loader == systemClassLoader) {
+        // the system class loader is not a URLClassLoader since Java 9; its parents only depend on
+        // the JVM, which is part of the environment
+        String javaClassPath = System.getProperty("java.class.path", "");
+        for (String entry : javaClassPath.split(File.pathSeparator, -1)) {
+          appendFile(classPath, entry, toPath(entry));
+        }
+        break;
+      }
+      if (!(loader instanceof URLClassLoader)) {
+        return UNKNOWN_CLASS_PATH;
+      }
+      for (URL url : ((URLClassLoader) loader).getURLs()) {
+        appendFile(classPath, url.toString(), toPath(url));
+      }
+      // separates the class paths of the class loaders
+      classPath.append('\n');
+    }
+    return sha256(classPath.toString());
+  }
+
+  private static void appendFile(StringBuilder classPath, String entry, @Nullable Path path) {
+    BasicFileAttributes attributes = path == null ? null : readAttributes(path);
+    append(
+        classPath,
+        entry,
+        attributes == null
+            ? null
+            : attributes.size() + "/" + attributes.lastModifiedTime().toMillis());
+  }
+
+  @Nullable
+  private static Path toPath(String entry) {
+    try {
+      return Paths.get(entry);
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+
+  @Nullable
+  private static Path toPath(URL url) {
+    if (!"file".equals(url.getProtocol())) {
+      return null;
+    }
+    try {
+      return Paths.get(url.toURI());
+    } catch (URISyntaxException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  // returns the path of the outermost jar file of a code source location like file:/app/lib.jar,
+  // jar:file:/app.jar!/BOOT-INF/lib/lib.jar!/ or jar:nested:/app.jar/!BOOT-INF/lib/lib.jar
+  @Nullable
+  static Path toJarPath(@Nullable URL url) {
+    if (url == null) {
+      return null;
+    }
+    String location = url.toString();
+    if (location.startsWith("jar:")) {
+      int separator = location.indexOf('!');
+      if (separator < 0) {
+        return null;
+      }
+      location = location.substring("jar:".length(), separator);
+      if (location.startsWith("nested:")) {
+        location = "file:" + location.substring("nested:".length());
+        if (location.endsWith("/")) {
+          location = location.substring(0, location.length() - 1);
+        }
+      }
+    }
+    if (!location.startsWith("file:")) {
+      return null;
+    }
+    try {
+      return Paths.get(new URI(location));
+    } catch (URISyntaxException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  @Nullable
+  private static BasicFileAttributes readAttributes(Path path) {
+    try {
+      return Files.readAttributes(path, BasicFileAttributes.class);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  void load() {
+    if (!Files.isRegularFile(cacheFile)) {
+      return;
+    }
+    Map<String, JarRecord> loaded = new HashMap<>();
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+      if (in.readInt() != MAGIC
+          || in.readInt() != FORMAT_VERSION
+          || !environment.equals(in.readUTF())) {
+        logger.log(FINE, "Type matching cache {0} is out of date", cacheFile);
+        return;
+      }
+      int jarCount = in.readInt();
+      for (int i = 0; i < jarCount; i++) {
+        String path = in.readUTF();
+        String classPath = in.readUTF();
+        long size = in.readLong();
+        long lastModified = in.readLong();
+        int classCount = in.readInt();
+        Set<String> classNames = new HashSet<>();
+        for (int j = 0; j < classCount; j++) {
+          classNames.add(in.readUTF());
+        }
+        BasicFileAttributes attributes = readAttributes(Paths.get(path));
+        if (attributes == null
+            || attributes.size() != size
+            || attributes.lastModifiedTime().toMillis() != lastModified) {
+          logger.log(
+              FINE,
+              "Type matching cache {0} is out of date: {1} has changed",
+              new Object[] {cacheFile, path});
+          return;
+        }
+        loaded.put(
+            key(path, classPath), new JarRecord(path, classPath, size, lastModified, classNames));
+      }
+    } catch (IOException | RuntimeException e) {
+      logger.log(WARNING, "Failed to read type matching cache " + cacheFile, e);
+      return;
+    }
+    jars.putAll(loaded);
+  }
+
+  void write() {
+    Path directory = cacheFile.toAbsolutePath().getParent();
+    Path tempFile = null;
+    try {
+      if (directory != null) {
+        Files.createDirectories(directory);
+      }
+      tempFile = Files.createTempFile(directory, cacheFile.getFileName().toString(), ".tmp");
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(environment);
+        List<JarRecord> records = new ArrayList<>(jars.values());
+        out.writeInt(records.size());
+        for (JarRecord jar : records) {
+          // classes that were not loaded in this run can't have changed either
+          Set<String> unmatched = new HashSet<>(jar.cachedUnmatched);
+          unmatched.addAll(jar.unmatched);
+          unmatched.removeAll(jar.matched);
+          out.writeUTF(jar.path);
+          out.writeUTF(jar.classPath);
+          out.writeLong(jar.size);
+          out.writeLong(jar.lastModified);
+          out.writeInt(unmatched.size());
+          for (String className : unmatched) {
+            out.writeUTF(className);
+          }
+        }
+      }
+      Files.move(
+          tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException | RuntimeException e) {
+      logger.log(WARNING, "Failed to write type matching cache " + cacheFile, e);
+      if (tempFile != null) {
+        try {
+          Files.deleteIfExists(tempFile);
+        } catch (IOException ignored) {
+          // nothing more we can do
+        }
+      }
+    }
+  }
+
+  // everything that can change the outcome of type matching, apart from the jars themselves
+  static String environment(ConfigProperties config) {
+    StringBuilder environment = new StringBuilder();
+    append(environment, "agent.version", AgentVersion.VERSION);
+    for (String property : new String[] {"java.version", "java.vm.name", "java.class.path"}) {
+      append(environment, property, System.getProperty(property));
+    }
+    for (Map.Entry<String, String> entry : new TreeMap<>(System.getenv()).entrySet()) {
+      if (entry.getKey().startsWith("OTEL_")) {
+        append(environment, entry.getKey(), entry.getValue());
+      }
+    }
+    Set<String> propertyNames = new TreeSet<>(System.getProperties().stringPropertyNames());
+    for (String property : propertyNames) {
+      if (property.startsWith("otel.")) {
+        append(environment, property, System.getProperty(property));
+      }
+    }
+    List<String> files = new ArrayList<>(config.getList("otel.javaagent.extensions"));
+    String configurationFile = config.getString("otel.javaagent.configuration-file");
+    if (configurationFile != null) {
+      files.add(configurationFile);
+    }
+    for (String file : files) {
+      BasicFileAttributes attributes = readAttributes(Paths.get(file));
+      append(
+          environment,
+          file,
+          attributes == null
+              ? null
+              : attributes.size() + "/" + attributes.lastModifiedTime().toMillis());
+    }
+    return sha256(environment.toString());
+  }
+
+  private static void append(StringBuilder environment, String key, @Nullable String value) {
+    environment.append(key).append('=').append(value).append('\n');
+  }
+
+  private static String sha256(String value) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(UTF_8));
+      StringBuilder hex = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        hex.append(Character.forDigit((b >> 4) & 0xf, 16));
+        hex.append(Character.forDigit(b & 0xf, 16));
+      }
+      return hex.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private final class Listener extends AgentBuilder.Listener.Adapter {
+
+    @Override
+    public void onTransformation(
+        TypeDescription typeDescription,
+        ClassLoader classLoader,
+        JavaModule module,
+        boolean loaded,
+        DynamicType dynamicType) {
+      JarRecord jar = currentJar(typeDescription);
+      if (jar != null) {
+        jar.matched.add(typeDescription.getName());
+      }
+    }
+
+    @Override
+    public void onIgnored(
+        TypeDescription typeDescription,
+        ClassLoader classLoader,
+        JavaModule module,
+        boolean loaded) {
+      JarRecord jar = currentJar(typeDescription);
+      if (jar != null) {
+        jar.unmatched.add(typeDescription.getName());
+      }
+    }
+
+    @Override
+    public void onComplete(
+        String typeName, ClassLoader classLoader, JavaModule module, boolean loaded) {
+      Candidate current = candidate.get();
+      current.name = null;
+      current.jar = null;
+    }
+
+    // the matcher is not called for classes that an earlier ignore rule already excluded
+    @Nullable
+    private JarRecord currentJar(TypeDescription typeDescription) {
+      Candidate current = candidate.get();
+      return typeDescription.getName().equals(current.name) ? current.jar : null;
+    }
+  }
+
+  private static final class Candidate {
+    @Nullable String name;
+    @Nullable JarRecord jar;
+  }
+
+  private static final class JarRecord {
+    final String path;
+    // fingerprint of the class path of the class loader that loaded the classes
+    final String classPath;
+    final long size;
+    final long lastModified;
+    // read from the cache file, never modified afterwards
+    final Set<String> cachedUnmatched;
+    final Set<String> unmatched = ConcurrentHashMap.newKeySet();
+    final Set<String> matched = ConcurrentHashMap.newKeySet();
+
+    JarRecord(
+        String path, String classPath, long size, long lastModified, Set<String> cachedUnmatched) {
+      this.path = path;
+      this.classPath = classPath;
+      this.size = size;
+      this.lastModified = lastModified;
+      this.cachedUnmatched = cachedUnmatched;
+    }
+  }
+}
@@ -14,22 +14,39 @@ import io.opentelemetry.javaagent.bootstrap.InstrumentationHolder;
 import io.opentelemetry.javaagent.extension.instrumentation.InstrumentationModule;
 import io.opentelemetry.javaagent.tooling.AgentExtension;
 import io.opentelemetry.javaagent.tooling.Utils;
+import io.opentelemetry.javaagent.tooling.instrumentation.InstrumentationModuleInstaller.PreparedModule;
 import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 import net.bytebuddy.agent.builder.AgentBuilder;
 
 @AutoService(AgentExtension.class)
 public class InstrumentationLoader implements AgentExtension {
   private static final Logger logger = Logger.getLogger(InstrumentationLoader.class.getName());
 
+  // number of threads used to prepare the instrumentation modules, 1 disables parallel preparation
+  private static final String PARALLELISM_CONFIG =
+      "otel.javaagent.experimental.module-preparation.parallelism";
+
   private final InstrumentationModuleInstaller instrumentationModuleInstaller =
       new InstrumentationModuleInstaller(InstrumentationHolder.getInstrumentation());
 
   @Override
   public AgentBuilder extend(AgentBuilder agentBuilder, ConfigProperties config) {
+    List<InstrumentationModule> instrumentationModules =
+        loadOrdered(InstrumentationModule.class, Utils.getExtensionsClassLoader());
+    List<Supplier<PreparationResult>> preparedModules = prepare(instrumentationModules, config);
+
+    // transformations are added in the module order, which is the order they are applied in
     int numberOfLoadedModules = 0;
-    for (InstrumentationModule instrumentationModule :
-        loadOrdered(InstrumentationModule.class, Utils.getExtensionsClassLoader())) {
+    for (int i = 0; i < instrumentationModules.size(); i++) {
+      InstrumentationModule instrumentationModule = instrumentationModules.get(i);
       if (logger.isLoggable(FINE)) {
         logger.log(
             FINE,
@@ -40,8 +57,10 @@ public class InstrumentationLoader implements AgentExtension {
             });
       }
       try {
-        agentBuilder =
-            instrumentationModuleInstaller.install(instrumentationModule, agentBuilder, config);
+        PreparedModule preparedModule = preparedModules.get(i).get().getPreparedModule();
+        if (preparedModule != null) {
+          agentBuilder = instrumentationModuleInstaller.install(preparedModule, agentBuilder);
+        }
         numberOfLoadedModules++;
       } catch (Exception | LinkageError e) {
         logger.log(
@@ -59,8 +78,74 @@ public class InstrumentationLoader implements AgentExtension {
     return agentBuilder;
   }
 
+  // prepares the modules on a dedicated pool, unless the parallelism is set to 1
+  private List<Supplier<PreparationResult>> prepare(
+      List<InstrumentationModule> instrumentationModules, ConfigProperties config) {
+    int parallelism =
+        Math.min(
+            config.getInt(PARALLELISM_CONFIG, Runtime.getRuntime().availableProcessors()),
+            instrumentationModules.size());
+    List<Supplier<PreparationResult>> results = new ArrayList<>(instrumentationModules.size());
+    if (parallelism <= 1) {
+      for (InstrumentationModule instrumentationModule : instrumentationModules) {
+        PreparationResult result = prepare(instrumentationModule, config);
+        results.add(() -> result);
+      }
+      return results;
+    }
+
+    ForkJoinPool pool =
+        new ForkJoinPool(
+            parallelism, InstrumentationLoader::newPreparationThread, null, /* asyncMode= */ false);
+    for (InstrumentationModule instrumentationModule : instrumentationModules) {
+      ForkJoinTask<PreparationResult> task =
+          pool.submit(() -> prepare(instrumentationModule, config));
+      results.add(task::join);
+    }
+    // already submitted tasks still run to completion
+    pool.shutdown();
+    return results;
+  }
+
+  private PreparationResult prepare(
+      InstrumentationModule instrumentationModule, ConfigProperties config) {
+    try {
+      return new PreparationResult(
+          instrumentationModuleInstaller.prepare(instrumentationModule, config), null);
+    } catch (RuntimeException | LinkageError e) {
+      return new PreparationResult(null, e);
+    }
+  }
+
+  private static ForkJoinWorkerThread newPreparationThread(ForkJoinPool pool) {
+    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+    thread.setName("otel-javaagent-module-preparation-" + thread.getPoolIndex());
+    return thread;
+  }
+
   @Override
   public String extensionName() {
     return "instrumentation-loader";
   }
+
+  private static final class PreparationResult {
+    @Nullable private final PreparedModule preparedModule;
+    @Nullable private final Throwable error;
+
+    PreparationResult(@Nullable PreparedModule preparedModule, @Nullable Throwable error) {
+      this.preparedModule = preparedModule;
+      this.error = error;
+    }
+
+    // rethrows the error that happened while preparing the module on another thread
+    @Nullable
+    PreparedModule getPreparedModule() {
+      if (error instanceof RuntimeException) {
+        throw (RuntimeException) error;
+      } else if (error != null) {
+        throw (LinkageError) error;
+      }
+      return preparedModule;
+    }
+  }
 }
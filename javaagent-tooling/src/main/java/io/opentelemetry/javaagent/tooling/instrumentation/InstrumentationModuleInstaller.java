@@ -37,6 +37,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
+import javax.annotation.Nullable;
 import net.bytebuddy.agent.builder.AgentBuilder;
 import net.bytebuddy.description.annotation.AnnotationSource;
 import net.bytebuddy.description.type.TypeDescription;
@@ -60,30 +61,23 @@ public final class InstrumentationModuleInstaller {
     this.instrumentation = instrumentation;
   }
 
-  AgentBuilder install(
-      InstrumentationModule instrumentationModule,
-      AgentBuilder parentAgentBuilder,
-      ConfigProperties config) {
+  /**
+   * Does all the work needed to install the {@code instrumentationModule} that does not depend on
+   * the {@link AgentBuilder}: creating matchers, helper injectors and virtual field
+   * implementations. Can be called concurrently for different modules. Returns {@code null} if
+   * there is nothing to install.
+   */
+  @Nullable
+  PreparedModule prepare(InstrumentationModule instrumentationModule, ConfigProperties config) {
     if (!AgentConfig.isInstrumentationEnabled(
         config,
         instrumentationModule.instrumentationNames(),
         instrumentationModule.defaultEnabled(config))) {
       logger.log(
           FINE, "Instrumentation {0} is disabled", instrumentationModule.instrumentationName());
-      return parentAgentBuilder;
+      return null;
     }
 
-    if (instrumentationModule.isIndyModule()) {
-      return installIndyModule(instrumentationModule, parentAgentBuilder, config);
-    } else {
-      return installInjectingModule(instrumentationModule, parentAgentBuilder, config);
-    }
-  }
-
-  private AgentBuilder installIndyModule(
-      InstrumentationModule instrumentationModule,
-      AgentBuilder parentAgentBuilder,
-      ConfigProperties config) {
     List<String> helperClassNames =
         InstrumentationModuleMuzzle.getHelperClassNames(instrumentationModule);
     HelperResourceBuilderImpl helperResourceBuilder = new HelperResourceBuilderImpl();
@@ -97,9 +91,49 @@ public final class InstrumentationModuleInstaller {
             instrumentationModule.instrumentationName());
       }
 
-      return parentAgentBuilder;
+      return null;
     }
 
+    AgentBuilder.Transformer helperInjector =
+        instrumentationModule.isIndyModule()
+            ? createIndyHelperInjector(instrumentationModule, helperResourceBuilder)
+            : new HelperInjector(
+                instrumentationModule.instrumentationName(),
+                helperClassNames,
+                helperResourceBuilder.getResources(),
+                Utils.getExtensionsClassLoader(),
+                instrumentation);
+
+    List<PreparedTypeInstrumentation> preparedTypeInstrumentations =
+        new ArrayList<>(typeInstrumentations.size());
+    for (TypeInstrumentation typeInstrumentation : typeInstrumentations) {
+      preparedTypeInstrumentations.add(
+          prepareTypeInstrumentation(instrumentationModule, typeInstrumentation));
+    }
+
+    return new PreparedModule(
+        instrumentationModule,
+        new MuzzleMatcher(logger, instrumentationModule, config),
+        helperInjector,
+        virtualFieldInstallerFactory.create(instrumentationModule),
+        preparedTypeInstrumentations);
+  }
+
+  /**
+   * Adds the transformations of a module returned by {@link #prepare(InstrumentationModule,
+   * ConfigProperties)} to the {@code parentAgentBuilder}. Must not be called concurrently.
+   */
+  AgentBuilder install(PreparedModule preparedModule, AgentBuilder parentAgentBuilder) {
+    if (preparedModule.instrumentationModule.isIndyModule()) {
+      return installIndyModule(preparedModule, parentAgentBuilder);
+    } else {
+      return installInjectingModule(preparedModule, parentAgentBuilder);
+    }
+  }
+
+  private AgentBuilder.Transformer createIndyHelperInjector(
+      InstrumentationModule instrumentationModule,
+      HelperResourceBuilderImpl helperResourceBuilder) {
     List<String> injectedHelperClassNames;
     if (instrumentationModule instanceof ExperimentalInstrumentationModule) {
       ExperimentalInstrumentationModule experimentalInstrumentationModule =
@@ -115,8 +149,6 @@ public final class InstrumentationModuleInstaller {
           .injectClasses(injectedClassesCollector);
     }
 
-    MuzzleMatcher muzzleMatcher = new MuzzleMatcher(logger, instrumentationModule, config);
-
     Function<ClassLoader, List<HelperClassDefinition>> helperGenerator =
         cl -> {
           List<HelperClassDefinition> helpers =
@@ -131,22 +163,25 @@ public final class InstrumentationModuleInstaller {
           return helpers;
         };
 
-    AgentBuilder.Transformer helperInjector =
-        new HelperInjector(
-            instrumentationModule.instrumentationName(),
-            helperGenerator,
-            helperResourceBuilder.getResources(),
-            instrumentationModule.getClass().getClassLoader(),
-            instrumentation);
+    return new HelperInjector(
+        instrumentationModule.instrumentationName(),
+        helperGenerator,
+        helperResourceBuilder.getResources(),
+        instrumentationModule.getClass().getClassLoader(),
+        instrumentation);
+  }
 
-    VirtualFieldImplementationInstaller contextProvider =
-        virtualFieldInstallerFactory.create(instrumentationModule);
+  private static AgentBuilder installIndyModule(
+      PreparedModule preparedModule, AgentBuilder parentAgentBuilder) {
+    InstrumentationModule instrumentationModule = preparedModule.instrumentationModule;
+    VirtualFieldImplementationInstaller contextProvider = preparedModule.contextProvider;
 
     AgentBuilder agentBuilder = parentAgentBuilder;
-    for (TypeInstrumentation typeInstrumentation : instrumentationModule.typeInstrumentations()) {
+    for (PreparedTypeInstrumentation preparedTypeInstrumentation :
+        preparedModule.typeInstrumentations) {
       AgentBuilder.Identified.Extendable extendableAgentBuilder =
-          setTypeMatcher(agentBuilder, instrumentationModule, typeInstrumentation)
-              .and(muzzleMatcher)
+          setTypeMatcher(agentBuilder, preparedTypeInstrumentation)
+              .and(preparedModule.muzzleMatcher)
               .transform(new PatchByteCodeVersionTransformer());
 
       // TODO (Jonas): we are not calling
@@ -157,11 +192,11 @@ public final class InstrumentationModuleInstaller {
       extendableAgentBuilder =
           IndyModuleRegistry.initializeModuleLoaderOnMatch(
               instrumentationModule, extendableAgentBuilder);
-      extendableAgentBuilder = extendableAgentBuilder.transform(helperInjector);
+      extendableAgentBuilder = extendableAgentBuilder.transform(preparedModule.helperInjector);
       extendableAgentBuilder = contextProvider.injectHelperClasses(extendableAgentBuilder);
       IndyTypeTransformerImpl typeTransformer =
           new IndyTypeTransformerImpl(extendableAgentBuilder, instrumentationModule);
-      typeInstrumentation.transform(typeTransformer);
+      preparedTypeInstrumentation.typeInstrumentation.transform(typeTransformer);
       extendableAgentBuilder = typeTransformer.getAgentBuilder();
       // TODO (Jonas): make instrumentation of bytecode older than 1.4 opt-in via a config option
       extendableAgentBuilder = contextProvider.injectFields(extendableAgentBuilder);
@@ -171,49 +206,23 @@ public final class InstrumentationModuleInstaller {
     return agentBuilder;
   }
 
-  private AgentBuilder installInjectingModule(
-      InstrumentationModule instrumentationModule,
-      AgentBuilder parentAgentBuilder,
-      ConfigProperties config) {
-    List<String> helperClassNames =
-        InstrumentationModuleMuzzle.getHelperClassNames(instrumentationModule);
-    HelperResourceBuilderImpl helperResourceBuilder = new HelperResourceBuilderImpl();
-    instrumentationModule.registerHelperResources(helperResourceBuilder);
-    List<TypeInstrumentation> typeInstrumentations = instrumentationModule.typeInstrumentations();
-    if (typeInstrumentations.isEmpty()) {
-      if (!helperClassNames.isEmpty() || !helperResourceBuilder.getResources().isEmpty()) {
-        logger.log(
-            WARNING,
-            "Helper classes and resources won't be injected if no types are instrumented: {0}",
-            instrumentationModule.instrumentationName());
-      }
-
-      return parentAgentBuilder;
-    }
-
-    MuzzleMatcher muzzleMatcher = new MuzzleMatcher(logger, instrumentationModule, config);
-    AgentBuilder.Transformer helperInjector =
-        new HelperInjector(
-            instrumentationModule.instrumentationName(),
-            helperClassNames,
-            helperResourceBuilder.getResources(),
-            Utils.getExtensionsClassLoader(),
-            instrumentation);
-    VirtualFieldImplementationInstaller contextProvider =
-        virtualFieldInstallerFactory.create(instrumentationModule);
+  private static AgentBuilder installInjectingModule(
+      PreparedModule preparedModule, AgentBuilder parentAgentBuilder) {
+    VirtualFieldImplementationInstaller contextProvider = preparedModule.contextProvider;
 
     AgentBuilder agentBuilder = parentAgentBuilder;
-    for (TypeInstrumentation typeInstrumentation : typeInstrumentations) {
+    for (PreparedTypeInstrumentation preparedTypeInstrumentation :
+        preparedModule.typeInstrumentations) {
 
       AgentBuilder.Identified.Extendable extendableAgentBuilder =
-          setTypeMatcher(agentBuilder, instrumentationModule, typeInstrumentation)
-              .and(muzzleMatcher)
+          setTypeMatcher(agentBuilder, preparedTypeInstrumentation)
+              .and(preparedModule.muzzleMatcher)
               .transform(ConstantAdjuster.instance())
-              .transform(helperInjector);
+              .transform(preparedModule.helperInjector);
       extendableAgentBuilder = contextProvider.injectHelperClasses(extendableAgentBuilder);
       extendableAgentBuilder = contextProvider.rewriteVirtualFieldsCalls(extendableAgentBuilder);
       TypeTransformerImpl typeTransformer = new TypeTransformerImpl(extendableAgentBuilder);
-      typeInstrumentation.transform(typeTransformer);
+      preparedTypeInstrumentation.typeInstrumentation.transform(typeTransformer);
       extendableAgentBuilder = typeTransformer.getAgentBuilder();
       extendableAgentBuilder = contextProvider.injectFields(extendableAgentBuilder);
 
@@ -223,10 +232,8 @@ public final class InstrumentationModuleInstaller {
     return agentBuilder;
   }
 
-  private static AgentBuilder.Identified.Narrowable setTypeMatcher(
-      AgentBuilder agentBuilder,
-      InstrumentationModule instrumentationModule,
-      TypeInstrumentation typeInstrumentation) {
+  private static PreparedTypeInstrumentation prepareTypeInstrumentation(
+      InstrumentationModule instrumentationModule, TypeInstrumentation typeInstrumentation) {
 
     ElementMatcher.Junction<ClassLoader> moduleClassLoaderMatcher =
         instrumentationModule.classLoaderMatcher();
@@ -244,15 +251,59 @@ public final class InstrumentationModuleInstaller {
                 + typeInstrumentation.getClass().getSimpleName(),
             moduleClassLoaderMatcher.and(typeInstrumentation.classLoaderOptimization()));
 
+    return new PreparedTypeInstrumentation(
+        typeInstrumentation,
+        new LoggingFailSafeMatcher<>(
+            typeMatcher, "Instrumentation type matcher unexpected exception: " + typeMatcher),
+        new LoggingFailSafeMatcher<>(
+            classLoaderMatcher,
+            "Instrumentation class loader matcher unexpected exception: " + classLoaderMatcher));
+  }
+
+  private static AgentBuilder.Identified.Narrowable setTypeMatcher(
+      AgentBuilder agentBuilder, PreparedTypeInstrumentation preparedTypeInstrumentation) {
     return agentBuilder
         .type(
-            new LoggingFailSafeMatcher<>(
-                typeMatcher, "Instrumentation type matcher unexpected exception: " + typeMatcher),
-            new LoggingFailSafeMatcher<>(
-                classLoaderMatcher,
-                "Instrumentation class loader matcher unexpected exception: " + classLoaderMatcher))
+            preparedTypeInstrumentation.typeMatcher,
+            preparedTypeInstrumentation.classLoaderMatcher)
         .and(
             (typeDescription, classLoader, module, classBeingRedefined, protectionDomain) ->
                 classLoader == null || NOT_DECORATOR_MATCHER.matches(typeDescription));
   }
+
+  static final class PreparedModule {
+    final InstrumentationModule instrumentationModule;
+    final AgentBuilder.RawMatcher muzzleMatcher;
+    final AgentBuilder.Transformer helperInjector;
+    final VirtualFieldImplementationInstaller contextProvider;
+    final List<PreparedTypeInstrumentation> typeInstrumentations;
+
+    PreparedModule(
+        InstrumentationModule instrumentationModule,
+        AgentBuilder.RawMatcher muzzleMatcher,
+        AgentBuilder.Transformer helperInjector,
+        VirtualFieldImplementationInstaller contextProvider,
+        List<PreparedTypeInstrumentation> typeInstrumentations) {
+      this.instrumentationModule = instrumentationModule;
+      this.muzzleMatcher = muzzleMatcher;
+      this.helperInjector = helperInjector;
+      this.contextProvider = contextProvider;
+      this.typeInstrumentations = typeInstrumentations;
+    }
+  }
+
+  private static final class PreparedTypeInstrumentation {
+    final TypeInstrumentation typeInstrumentation;
+    final ElementMatcher<TypeDescription> typeMatcher;
+    final ElementMatcher<ClassLoader> classLoaderMatcher;
+
+    PreparedTypeInstrumentation(
+        TypeInstrumentation typeInstrumentation,
+        ElementMatcher<TypeDescription> typeMatcher,
+        ElementMatcher<ClassLoader> classLoaderMatcher) {
+      this.typeInstrumentation = typeInstrumentation;
+      this.typeMatcher = typeMatcher;
+      this.classLoaderMatcher = classLoaderMatcher;
+    }
+  }
 }
@@ -13,9 +13,12 @@ import io.opentelemetry.javaagent.tooling.DefineClassHandler;
 import java.lang.reflect.Field;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -71,23 +74,19 @@ public class AgentBuilderUtil {
   }
 
   private static void optimize(AgentBuilder.Default agentBuilder) throws Exception {
-    // class names that have a matcher that matches by name
-    Set<String> classNames = new HashSet<>();
-    // class names that have a matcher that matches subtypes
-    Set<String> superTypeNames = new HashSet<>();
-    List<Transformation> unoptimizedTransformations = new ArrayList<>();
     List<Transformation> transformations = agentBuilder.transformations;
-    for (Transformation transformation : transformations) {
-      AgentBuilder.RawMatcher matcher = transformation.getMatcher();
+    TransformationIndex<Transformation> index = new TransformationIndex<>(transformations);
+    for (int i = 0; i < transformations.size(); i++) {
+      AgentBuilder.RawMatcher matcher = transformations.get(i).getMatcher();
       // attempt to decompose the matcher and find if it applies to a named class or a subclass
       Result result = inspect(matcher);
       if (result == null) {
         // we were not able to decompose the matcher
-        unoptimizedTransformations.add(transformation);
+        index.addUnoptimized(i);
       } else if (result.subtype) {
-        superTypeNames.addAll(result.names);
+        index.addSubtype(i, result.names);
       } else {
-        classNames.addAll(result.names);
+        index.addNamed(i, result.names);
       }
     }
 
@@ -100,10 +99,6 @@ public class AgentBuilderUtil {
                   String name = TransformContext.getTransformedClassName();
                   // iterator() is the only method we expect to be called on this List
                   if (name != null && "iterator".equals(method.getName())) {
-                    // we know that this class is going to be transformed
-                    if (classNames.contains(name) || superTypeNames.contains(name)) {
-                      return transformations.iterator();
-                    }
                     // we already know that loading this class is going to fail, no need to
                     // transform it
                     if (DefineClassHandler.isFailedClass(name)) {
@@ -115,15 +110,7 @@ public class AgentBuilderUtil {
                     if (loadingSuperTypes.isEmpty()) {
                       return transformations.iterator();
                     }
-                    for (String className : loadingSuperTypes) {
-                      // we know that this class is going to be transformed
-                      if (superTypeNames.contains(className)) {
-                        return transformations.iterator();
-                      }
-                    }
-
-                    // apply only the transformations that we can't decompose
-                    return unoptimizedTransformations.iterator();
+                    return index.candidates(name, loadingSuperTypes).iterator();
                   }
 
                   return method.invoke(transformations, args);
@@ -248,6 +235,72 @@ public class AgentBuilderUtil {
     }
   }
 
+  /**
+   * Finds the transformations that may apply to a class, given its name and the names of its super
+   * types. The candidates are returned in the same order as in the original list of
+   * transformations.
+   */
+  // visible for testing
+  static class TransformationIndex<T> {
+    private final List<T> transformations;
+    // transformations that match a type by name, or any subtype of it; the type is its own subtype
+    private final Map<String, BitSet> byName = new HashMap<>();
+    // transformations that match any subtype of a type
+    private final Map<String, BitSet> bySuperTypeName = new HashMap<>();
+    private final BitSet unoptimized = new BitSet();
+    private final List<T> unoptimizedTransformations = new ArrayList<>();
+
+    TransformationIndex(List<T> transformations) {
+      this.transformations = transformations;
+    }
+
+    void addNamed(int transformation, Set<String> names) {
+      for (String name : names) {
+        byName.computeIfAbsent(name, n -> new BitSet()).set(transformation);
+      }
+    }
+
+    void addSubtype(int transformation, Set<String> names) {
+      addNamed(transformation, names);
+      for (String name : names) {
+        bySuperTypeName.computeIfAbsent(name, n -> new BitSet()).set(transformation);
+      }
+    }
+
+    void addUnoptimized(int transformation) {
+      unoptimized.set(transformation);
+      unoptimizedTransformations.add(transformations.get(transformation));
+    }
+
+    List<T> candidates(String name, Set<String> superTypeNames) {
+      BitSet candidates = null;
+      BitSet named = byName.get(name);
+      if (named != null) {
+        candidates = (BitSet) unoptimized.clone();
+        candidates.or(named);
+      }
+      for (String superTypeName : superTypeNames) {
+        BitSet subtype = bySuperTypeName.get(superTypeName);
+        if (subtype != null) {
+          if (candidates == null) {
+            candidates = (BitSet) unoptimized.clone();
+          }
+          candidates.or(subtype);
+        }
+      }
+      if (candidates == null) {
+        // apply only the transformations that we can't decompose
+        return unoptimizedTransformations;
+      }
+
+      List<T> result = new ArrayList<>(candidates.cardinality());
+      for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+        result.add(transformations.get(i));
+      }
+      return result;
+    }
+  }
+
   private static ElementMatcher<?> getDelegateMatcher(
       AgentBuilder.RawMatcher.ForElementMatchers matcher) throws Exception {
     return (ElementMatcher<?>) forElementMatcherField.get(matcher);
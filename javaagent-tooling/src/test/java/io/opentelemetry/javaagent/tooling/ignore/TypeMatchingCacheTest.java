@@ -0,0 +1,189 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.ignore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.security.cert.Certificate;
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TypeMatchingCacheTest {
+
+  private static final TypeDescription UNMATCHED = TypeDescription.ForLoadedType.of(String.class);
+  private static final TypeDescription MATCHED = TypeDescription.ForLoadedType.of(Integer.class);
+
+  @TempDir Path tempDir;
+
+  private Path cacheFile;
+  private Path jar;
+  private ProtectionDomain protectionDomain;
+  private URLClassLoader classLoader;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    cacheFile = tempDir.resolve("cache").resolve("types.bin");
+    jar = Files.write(tempDir.resolve("library.jar"), new byte[] {1, 2, 3});
+    protectionDomain =
+        new ProtectionDomain(new CodeSource(jar.toUri().toURL(), (Certificate[]) null), null);
+    classLoader = new URLClassLoader(new URL[] {jar.toUri().toURL()}, null);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    classLoader.close();
+  }
+
+  @Test
+  void skipsUnmatchedClassesOnNextRun() {
+    recordRun("environment");
+
+    TypeMatchingCache cache = new TypeMatchingCache(cacheFile, "environment");
+    cache.load();
+
+    assertThat(matches(cache, UNMATCHED)).isTrue();
+    assertThat(matches(cache, MATCHED)).isFalse();
+  }
+
+  @Test
+  void ignoresCacheOfDifferentEnvironment() {
+    recordRun("environment");
+
+    TypeMatchingCache cache = new TypeMatchingCache(cacheFile, "other environment");
+    cache.load();
+
+    assertThat(matches(cache, UNMATCHED)).isFalse();
+  }
+
+  @Test
+  void ignoresCacheWhenJarChanged() throws IOException {
+    recordRun("environment");
+    Files.write(jar, new byte[] {4}, StandardOpenOption.APPEND);
+
+    TypeMatchingCache cache = new TypeMatchingCache(cacheFile, "environment");
+    cache.load();
+
+    assertThat(matches(cache, UNMATCHED)).isFalse();
+  }
+
+  @Test
+  void matchesAgainWhenJarAddedToClassLoader() throws IOException {
+    recordRun("environment");
+    Path addedJar = Files.write(tempDir.resolve("added.jar"), new byte[] {4});
+
+    try (URLClassLoader changedClassLoader =
+        new URLClassLoader(new URL[] {jar.toUri().toURL(), addedJar.toUri().toURL()}, null)) {
+      TypeMatchingCache cache = new TypeMatchingCache(cacheFile, "environment");
+      cache.load();
+
+      assertThat(cache.matches(UNMATCHED, changedClassLoader, null, null, protectionDomain))
+          .isFalse();
+    }
+  }
+
+  @Test
+  void matchesAgainWhenOtherJarOfClassLoaderChanged() throws IOException {
+    Path otherJar = Files.write(tempDir.resolve("other.jar"), new byte[] {4});
+    classLoader.close();
+    classLoader =
+        new URLClassLoader(new URL[] {jar.toUri().toURL(), otherJar.toUri().toURL()}, null);
+    recordRun("environment");
+    Files.write(otherJar, new byte[] {5}, StandardOpenOption.APPEND);
+
+    TypeMatchingCache cache = new TypeMatchingCache(cacheFile, "environment");
+    cache.load();
+
+    assertThat(matches(cache, UNMATCHED)).isFalse();
+  }
+
+  @Test
+  void ignoresClassLoadersWithUnknownClassPath() {
+    ClassLoader unknownClassLoader = new ClassLoader(null) {};
+    TypeMatchingCache firstRun = new TypeMatchingCache(cacheFile, "environment");
+    assertThat(firstRun.matches(UNMATCHED, unknownClassLoader, null, null, protectionDomain))
+        .isFalse();
+    firstRun.listener().onIgnored(UNMATCHED, unknownClassLoader, null, false);
+    firstRun.listener().onComplete(UNMATCHED.getName(), unknownClassLoader, null, false);
+    firstRun.write();
+
+    TypeMatchingCache cache = new TypeMatchingCache(cacheFile, "environment");
+    cache.load();
+
+    assertThat(cache.matches(UNMATCHED, unknownClassLoader, null, null, protectionDomain))
+        .isFalse();
+  }
+
+  @Test
+  void keepsClassesNotLoadedInLaterRuns() {
+    recordRun("environment");
+
+    TypeMatchingCache secondRun = new TypeMatchingCache(cacheFile, "environment");
+    secondRun.load();
+    secondRun.write();
+
+    TypeMatchingCache cache = new TypeMatchingCache(cacheFile, "environment");
+    cache.load();
+
+    assertThat(matches(cache, UNMATCHED)).isTrue();
+  }
+
+  @Test
+  void ignoresClassesNotLoadedFromJar() throws IOException {
+    ProtectionDomain directory =
+        new ProtectionDomain(
+            new CodeSource(tempDir.toUri().toURL(), (Certificate[]) null), null);
+    TypeMatchingCache firstRun = new TypeMatchingCache(cacheFile, "environment");
+    assertThat(firstRun.matches(UNMATCHED, classLoader, null, null, directory)).isFalse();
+    firstRun.listener().onIgnored(UNMATCHED, classLoader, null, false);
+    firstRun.listener().onComplete(UNMATCHED.getName(), classLoader, null, false);
+    firstRun.write();
+
+    TypeMatchingCache cache = new TypeMatchingCache(cacheFile, "environment");
+    cache.load();
+
+    assertThat(cache.matches(UNMATCHED, classLoader, null, null, directory)).isFalse();
+  }
+
+  @Test
+  void resolvesJarPaths() throws Exception {
+    assertThat(TypeMatchingCache.toJarPath(new URL("file:/app/lib.jar")))
+        .isEqualTo(Paths.get("/app/lib.jar"));
+    assertThat(TypeMatchingCache.toJarPath(new URL("jar:file:/app.jar!/BOOT-INF/lib/lib.jar!/")))
+        .isEqualTo(Paths.get("/app.jar"));
+    assertThat(TypeMatchingCache.toJarPath(new URL("http://example.com/lib.jar"))).isNull();
+  }
+
+  private void recordRun(String environment) {
+    TypeMatchingCache cache = new TypeMatchingCache(cacheFile, environment);
+    cache.load();
+
+    assertThat(matches(cache, UNMATCHED)).isFalse();
+    cache.listener().onIgnored(UNMATCHED, classLoader, null, false);
+    cache.listener().onComplete(UNMATCHED.getName(), classLoader, null, false);
+
+    assertThat(matches(cache, MATCHED)).isFalse();
+    cache.listener().onTransformation(MATCHED, classLoader, null, false, null);
+    cache.listener().onComplete(MATCHED.getName(), classLoader, null, false);
+
+    cache.write();
+  }
+
+  private boolean matches(TypeMatchingCache cache, TypeDescription type) {
+    return cache.matches(type, classLoader, null, null, protectionDomain);
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.bytebuddy.agent.builder;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import net.bytebuddy.agent.builder.AgentBuilderUtil.TransformationIndex;
+import org.junit.jupiter.api.Test;
+
+class AgentBuilderUtilTest {
+
+  private static final List<String> TRANSFORMATIONS =
+      Arrays.asList(
+          "unoptimized-1", "named-a", "subtype-a", "named-b-c", "unoptimized-2", "subtype-b");
+
+  private static TransformationIndex<String> createIndex() {
+    TransformationIndex<String> index = new TransformationIndex<>(TRANSFORMATIONS);
+    index.addUnoptimized(0);
+    index.addNamed(1, singleton("a.A"));
+    index.addSubtype(2, singleton("a.A"));
+    index.addNamed(3, new HashSet<>(Arrays.asList("b.B", "c.C")));
+    index.addUnoptimized(4);
+    index.addSubtype(5, singleton("b.B"));
+    return index;
+  }
+
+  @Test
+  void unknownClassGetsOnlyUnoptimizedTransformations() {
+    TransformationIndex<String> index = createIndex();
+
+    assertThat(index.candidates("x.X", singleton("java.lang.Object")))
+        .containsExactly("unoptimized-1", "unoptimized-2");
+    assertThat(index.candidates("x.X", emptySet()))
+        .containsExactly("unoptimized-1", "unoptimized-2");
+  }
+
+  @Test
+  void namedClass() {
+    TransformationIndex<String> index = createIndex();
+
+    assertThat(index.candidates("c.C", singleton("java.lang.Object")))
+        .containsExactly("unoptimized-1", "named-b-c", "unoptimized-2");
+  }
+
+  @Test
+  void classIsItsOwnSuperType() {
+    TransformationIndex<String> index = createIndex();
+
+    // super types of the loading class don't include the class itself
+    assertThat(index.candidates("a.A", singleton("java.lang.Object")))
+        .containsExactly("unoptimized-1", "named-a", "subtype-a", "unoptimized-2");
+    assertThat(index.candidates("b.B", singleton("java.lang.Object")))
+        .containsExactly("unoptimized-1", "named-b-c", "unoptimized-2", "subtype-b");
+  }
+
+  @Test
+  void subtype() {
+    TransformationIndex<String> index = createIndex();
+
+    assertThat(index.candidates("x.X", new HashSet<>(Arrays.asList("java.lang.Object", "a.A"))))
+        .containsExactly("unoptimized-1", "subtype-a", "unoptimized-2");
+  }
+
+  @Test
+  void preservesOriginalOrder() {
+    TransformationIndex<String> index = createIndex();
+
+    // super types are visited in hash order, candidates must still follow the original order
+    assertThat(index.candidates("c.C", new HashSet<>(Arrays.asList("b.B", "a.A"))))
+        .containsExactly("unoptimized-1", "subtype-a", "named-b-c", "unoptimized-2", "subtype-b");
+  }
+}
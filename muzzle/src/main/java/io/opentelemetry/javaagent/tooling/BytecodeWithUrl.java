@@ -7,7 +7,9 @@ package io.opentelemetry.javaagent.tooling;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.SoftReference;
 import java.net.URL;
+import javax.annotation.Nullable;
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.utility.StreamDrainer;
 
@@ -31,7 +33,8 @@ public abstract class BytecodeWithUrl {
 
   /**
    * Provides the bytecode of the class. The result is the same as calling {@link URL#openStream()}
-   * on {@link #getUrl()} and draining that stream.
+   * on {@link #getUrl()} and draining that stream. The returned array may be shared and must not be
+   * modified.
    *
    * @return the bytecode of the class.
    */
@@ -101,6 +104,10 @@ public abstract class BytecodeWithUrl {
 
     private final ClassLoader classLoader;
     private final String resourceName;
+    @Nullable private volatile URL url;
+    // the bytecode is shared by all the injections of the class into different class loaders, but
+    // it can be reclaimed and read again when memory is low
+    private volatile SoftReference<byte[]> bytecode = new SoftReference<>(null);
 
     private Lazy(ClassLoader classLoader, String resourceName) {
       this.classLoader = classLoader;
@@ -109,16 +116,29 @@ public abstract class BytecodeWithUrl {
 
     @Override
     public URL getUrl() {
-      URL url = classLoader.getResource(resourceName);
+      URL url = this.url;
       if (url == null) {
-        throw new IllegalStateException(
-            "Classfile " + resourceName + " does not exist in the provided classloader!");
+        url = classLoader.getResource(resourceName);
+        if (url == null) {
+          throw new IllegalStateException(
+              "Classfile " + resourceName + " does not exist in the provided classloader!");
+        }
+        this.url = url;
       }
       return url;
     }
 
     @Override
     public byte[] getBytecode() {
+      byte[] bytes = bytecode.get();
+      if (bytes == null) {
+        bytes = readBytecode();
+        bytecode = new SoftReference<>(bytes);
+      }
+      return bytes;
+    }
+
+    private byte[] readBytecode() {
       try (InputStream bytecodeStream = getUrl().openStream()) {
         return StreamDrainer.DEFAULT.drain(bytecodeStream);
       } catch (IOException e) {
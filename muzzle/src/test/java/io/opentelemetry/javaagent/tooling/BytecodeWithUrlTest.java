@@ -0,0 +1,49 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.bytebuddy.utility.StreamDrainer;
+import org.junit.jupiter.api.Test;
+
+class BytecodeWithUrlTest {
+
+  @Test
+  void sharesBytecodeBetweenReads() throws Exception {
+    CountingClassLoader classLoader =
+        new CountingClassLoader(BytecodeWithUrlTest.class.getClassLoader());
+    BytecodeWithUrl bytecode =
+        BytecodeWithUrl.create(BytecodeWithUrlTest.class.getName(), classLoader);
+
+    byte[] first = bytecode.getBytecode();
+    byte[] second = bytecode.getBytecode();
+
+    assertThat(second).isSameAs(first);
+    assertThat(bytecode.getUrl()).isNotNull();
+    assertThat(classLoader.lookups.get()).isEqualTo(1);
+    try (InputStream expected = bytecode.getUrl().openStream()) {
+      assertThat(first).isEqualTo(StreamDrainer.DEFAULT.drain(expected));
+    }
+  }
+
+  private static class CountingClassLoader extends ClassLoader {
+    final AtomicInteger lookups = new AtomicInteger();
+
+    CountingClassLoader(ClassLoader parent) {
+      super(parent);
+    }
+
+    @Override
+    public URL getResource(String name) {
+      lookups.incrementAndGet();
+      return super.getResource(name);
+    }
+  }
+}